@@ -0,0 +1,25 @@
+package com.student.spring.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.student.spring.monitoring.SqlStatementCounter;
+
+/**
+ * Configuration class for Hibernate settings that are objects rather than property values.
+ */
+
+@Configuration
+public class HibernateConfig {
+
+    /**
+     * Bean definition that installs the statement inspector counting the SQL statements of each request.
+     *
+     * @return the customizer adding the inspector to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,86 @@
+package com.student.spring.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Configuration class for the binary representations offered next to JSON.
+ *
+ * Clients choose the format with the Accept (and for request bodies, Content-Type) header:
+ * application/cbor, application/x-jackson-smile or application/x-protobuf. The CBOR and
+ * Smile mappers are built from the same Boot-configured builder as the JSON mapper, so
+ * they serialize the DTOs with the same settings; Protobuf uses the schema in
+ * proto/student.proto.
+ *
+ * JSON stays the representation for requests that accept any type: CBOR and Smile take
+ * the places of Spring's default converters behind the JSON one, and the Protobuf
+ * converter is appended to the end of the list rather than registered as a bean, which
+ * Spring Boot would put in front of JSON.
+ */
+
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    /**
+     * Bean definition for the CBOR (application/cbor) message converter.
+     *
+     * @param builder the Boot-configured Jackson builder
+     * @return the CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Bean definition for the Smile (application/x-jackson-smile) message converter.
+     *
+     * @param builder the Boot-configured Jackson builder
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        try {
+            converters.add(protobufHttpMessageConverter(builders.getObject()));
+        } catch (IOException se) {
+            throw new UncheckedIOException("Error loading the Protobuf schema", se);
+        }
+    }
+
+    /**
+     * Creates the Protobuf (application/x-protobuf) message converter.
+     *
+     * @param builder the Boot-configured Jackson builder
+     * @return the Protobuf converter
+     * @throws IOException if the schema cannot be loaded
+     */
+    public ProtobufDtoHttpMessageConverter protobufHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+            throws IOException {
+        ObjectMapper mapper = builder.factory(new ProtobufFactory()).build();
+        mapper.enable(JsonGenerator.Feature.IGNORE_UNKNOWN);
+        return new ProtobufDtoHttpMessageConverter(mapper);
+    }
+}
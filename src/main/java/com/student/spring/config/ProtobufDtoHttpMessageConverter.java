@@ -0,0 +1,143 @@
+package com.student.spring.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StreamUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.MembershipDTO;
+import com.student.spring.dto.StudentDTO;
+
+/**
+ * Reads and writes StudentDTO, GradeDTO, MembershipDTO and ActivityDTO as
+ * application/x-protobuf, using the messages in proto/student.proto.
+ *
+ * A single DTO is written as its message and a collection of DTOs as the matching
+ * *List message. Other bodies, such as sparse fieldset maps, have no Protobuf schema:
+ * the converter declines them when the declared element type of a collection is known,
+ * and fails to write them otherwise, since handlers returning {@code ResponseEntity<?>}
+ * only reveal the element type at write time. Those endpoints should be requested as
+ * JSON, CBOR or Smile.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA_LOCATION = "proto/student.proto";
+
+    private final Map<Class<?>, Codec> codecs = new HashMap<>();
+
+    /**
+     * Creates the converter and compiles the writers and readers of every message.
+     *
+     * @param mapper an ObjectMapper backed by a ProtobufFactory
+     * @throws IOException if the schema cannot be loaded
+     */
+    public ProtobufDtoHttpMessageConverter(ObjectMapper mapper) throws IOException {
+        super(APPLICATION_PROTOBUF);
+        NativeProtobufSchema schema = ProtobufSchemaLoader.std.loadNative(new ClassPathResource(SCHEMA_LOCATION).getURL());
+        register(mapper, schema, StudentDTO.class, "Student", "StudentList", "students");
+        register(mapper, schema, MembershipDTO.class, "Membership", "MembershipList", "memberships");
+        register(mapper, schema, GradeDTO.class, "Grade", "GradeList", "grades");
+        register(mapper, schema, ActivityDTO.class, "Activity", "ActivityList", "activities");
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return codecs.containsKey(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, Class<?> contextClass, MediaType mediaType) {
+        return codecs.containsKey(ResolvableType.forType(type).resolve()) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        return canWrite(clazz, clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, @NonNull Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (!Collection.class.isAssignableFrom(clazz)) {
+            return codecs.containsKey(clazz);
+        }
+        // The element type is unknown for bodies declared as ResponseEntity<?>; writeInternal checks the elements
+        Class<?> elementType = type != null ? ResolvableType.forType(type).asCollection().resolveGeneric(0) : null;
+        return elementType == null || codecs.containsKey(elementType);
+    }
+
+    @Override
+    public Object read(@NonNull Type type, Class<?> contextClass, @NonNull HttpInputMessage inputMessage)
+            throws IOException {
+        return readInternal(ResolvableType.forType(type).toClass(), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) throws IOException {
+        Codec codec = codecs.get(clazz);
+        if (codec == null) {
+            throw new HttpMessageNotReadableException("No Protobuf message for " + clazz.getName(), inputMessage);
+        }
+        return codec.reader.readValue(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object body, Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        if (body instanceof Collection<?> collection) {
+            if (collection.isEmpty()) {
+                // An empty message decodes as an empty list of any of the *List types
+                return;
+            }
+            Codec codec = codecFor(collection.iterator().next().getClass());
+            for (Object element : collection) {
+                if (element == null || element.getClass() != codec.type) {
+                    throw new HttpMessageNotWritableException("No Protobuf message for a collection of mixed elements");
+                }
+            }
+            codec.listWriter.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), Map.of(codec.listField, collection));
+        } else {
+            codecFor(body.getClass()).writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), body);
+        }
+    }
+
+    private Codec codecFor(Class<?> type) {
+        Codec codec = codecs.get(type);
+        if (codec == null) {
+            throw new HttpMessageNotWritableException("No Protobuf message for " + type.getName());
+        }
+        return codec;
+    }
+
+    private void register(ObjectMapper mapper, NativeProtobufSchema schema, Class<?> type, String message,
+                          String listMessage, String listField) {
+        codecs.put(type, new Codec(type, mapper.writer(schema.forType(message)),
+                                   mapper.writer(schema.forType(listMessage)),
+                                   listField,
+                                   mapper.readerFor(type).with(schema.forType(message))));
+    }
+
+    private record Codec(Class<?> type, ObjectWriter writer, ObjectWriter listWriter, String listField, ObjectReader reader) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.student.spring.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Configuration class for exporting trace spans without a collector.
+ *
+ * Spring Boot hands every SpanExporter bean the finished spans. This one writes them as
+ * OTLP JSON, one batch per line, to its java.util.logging logger, which logback-spring.xml
+ * routes into the file named by tracing.file. The lines can be replayed into any OTLP
+ * backend, e.g. with the OpenTelemetry Collector's otlpjsonfile receiver.
+ */
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Bean definition for the exporter writing spans to the trace file.
+     *
+     * @return the OTLP JSON span exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true", matchIfMissing = true)
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -1,9 +1,9 @@
 package com.student.spring.controller;
 
 import java.util.List;
+import java.util.Map;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.ActivityQueryResultDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
 import com.student.spring.exception.StudentException;
 import com.student.spring.service.ActivityService;
 
@@ -33,15 +37,19 @@ import jakarta.validation.Valid;
  * Access Control: Only users with ROLE_ADMIN can access these endpoints.</p>
  */
 @PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
 @RestController
 @RequestMapping("/activities")
 public class ActivityController {
 
-    private static final Logger logger = LoggerFactory.getLogger(ActivityController.class);
+    private static final int MAX_QUERY_RESULTS = 1000;
 
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private ErrorResponder errorResponder;
+
     /**
      * POST /activities - Creates a new activity.
      *
@@ -56,8 +64,7 @@ public class ActivityController {
             activityDTO.setActivityId(activityId);
             return new ResponseEntity<>(activityDTO, HttpStatus.CREATED);
         } catch (StudentException se) {
-            logger.error("Error adding activity", se);
-            return new ResponseEntity<>("Error: " + se.getMessage(), HttpStatus.BAD_REQUEST);
+            return errorResponder.respond(se);
         }
     }
 
@@ -73,8 +80,50 @@ public class ActivityController {
             List<ActivityDTO> list = activityService.getAllActivities();
             return new ResponseEntity<>(list, HttpStatus.OK);
         } catch (StudentException se) {
-            logger.error("Error retrieving activities", se);
-            return new ResponseEntity<>("Error: " + se.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /activities/query - Finds students by a boolean combination of activity enrollments,
+     * e.g. {@code ?all=1,2&none=3} for students in activities 1 AND 2 but NOT 3.
+     *
+     * @param all activity IDs the students must all be enrolled in
+     * @param any activity IDs of which the students must be enrolled in at least one
+     * @param none activity IDs the students must not be enrolled in
+     * @param limit the maximum number of student IDs to return (0 for the count only, at most 1000)
+     * @return the match count and student IDs with HTTP 200 status if successful,
+     *         HTTP 400 for an invalid limit, otherwise an error message with HTTP 503 status
+     */
+    @GetMapping("/query")
+    public ResponseEntity<?> queryEnrollments(@RequestParam(defaultValue = "") List<Integer> all,
+                                              @RequestParam(defaultValue = "") List<Integer> any,
+                                              @RequestParam(defaultValue = "") List<Integer> none,
+                                              @RequestParam(defaultValue = "1000") int limit) {
+        if (limit < 0 || limit > MAX_QUERY_RESULTS) {
+            return errorResponder.respond(ErrorCode.INVALID_LIMIT, "limit", 0, MAX_QUERY_RESULTS);
+        }
+        try {
+            ActivityQueryResultDTO result = activityService.queryEnrollments(all, any, none, limit);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /activities/query/counts - Retrieves the number of enrolled students per activity.
+     *
+     * @return a map of activity ID to count with HTTP 200 status if successful,
+     *         otherwise an error message with HTTP 503 status
+     */
+    @GetMapping("/query/counts")
+    public ResponseEntity<?> countEnrollments() {
+        try {
+            Map<Integer, Long> counts = activityService.countEnrollments();
+            return new ResponseEntity<>(counts, HttpStatus.OK);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
         }
     }
 
@@ -93,8 +142,7 @@ public class ActivityController {
             activityService.updateActivity(activityDTO);
             return new ResponseEntity<>(activityDTO, HttpStatus.OK);
         } catch (StudentException se) {
-            logger.error("Error in updating activity", se);
-            return new ResponseEntity<>("Error: " + se.getMessage(), HttpStatus.BAD_REQUEST);
+            return errorResponder.respond(se);
         }
     }
 
@@ -111,8 +159,7 @@ public class ActivityController {
             activityService.deleteActivity(activityId);
             return new ResponseEntity<>("Activity deleted successfully.", HttpStatus.OK);
         } catch (StudentException se) {
-            logger.error("Error in deleting activity", se);
-            return new ResponseEntity<>("Error: " + se.getMessage(), HttpStatus.NOT_FOUND);
+            return errorResponder.respond(se);
         }
     }
 }
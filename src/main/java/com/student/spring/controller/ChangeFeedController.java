@@ -0,0 +1,242 @@
+package com.student.spring.controller;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.student.spring.dto.ChangePageDTO;
+import com.student.spring.dto.ChangeRecordDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
+import com.student.spring.exception.StudentException;
+import com.student.spring.service.ChangeFeedService;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * REST controller exposing the change feed of student, membership, grade and activity data.
+ *
+ * Consumers remember the last sequence number they processed and ask only for newer changes,
+ * either by polling (optionally long-polling with {@code wait}) or by holding a
+ * Server-Sent Events stream open.
+ *
+ * Publishing only signals waiting requests and streams; their queries and writes run on a
+ * bounded executor, one task at a time per stream, so a slow client holds up its own
+ * stream only, never the publisher or the other consumers.
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private static final int FEED_THREADS = 4;
+
+    private static final int FEED_QUEUE_SIZE = 100;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ErrorResponder errorResponder;
+
+    // Long polls and streams fetch and send changes here; when it is saturated a long poll returns
+    // its empty page and a stream is closed, and the client polls or reconnects
+    private final ExecutorService feedExecutor = newFeedExecutor();
+
+    /**
+     * GET /changes?after={sequence} - Retrieves the changes after a sequence number.
+     * With {@code wait} > 0 the request is held open until a change arrives or the wait elapses.
+     *
+     * @param after the last sequence number already consumed
+     * @param limit the maximum number of changes to return, from 1 to 1000
+     * @param wait the number of seconds to wait for changes when none are pending, from 0 to 60
+     * @return a ChangePageDTO, HTTP 400 if limit or wait is out of range, or an error message
+     */
+    @GetMapping
+    public DeferredResult<ResponseEntity<?>> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "100") int limit,
+                                                        @RequestParam(defaultValue = "0") int wait) {
+        long waitMs = wait * 1000L;
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(waitMs > 0 ? waitMs : null);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            result.setResult(errorResponder.respond(ErrorCode.INVALID_LIMIT, "limit", 1, MAX_PAGE_SIZE));
+            return result;
+        }
+        if (wait < 0 || wait > MAX_WAIT_SECONDS) {
+            result.setResult(errorResponder.respond(ErrorCode.INVALID_LIMIT, "wait", 0, MAX_WAIT_SECONDS));
+            return result;
+        }
+
+        ChangePageDTO page;
+        try {
+            page = changeFeedService.getChanges(after, limit);
+        } catch (StudentException se) {
+            result.setResult(errorResponder.respond(se));
+            return result;
+        }
+        if (!page.getChanges().isEmpty() || waitMs == 0) {
+            result.setResult(ResponseEntity.ok(page));
+            return result;
+        }
+
+        // One fetch at a time per request; publishes arriving meanwhile make it fetch once more
+        AtomicInteger signals = new AtomicInteger();
+        Runnable fetch = () -> {
+            int missed = signals.get();
+            try {
+                do {
+                    if (result.isSetOrExpired()) {
+                        return;
+                    }
+                    ChangePageDTO next = changeFeedService.getChanges(after, limit);
+                    if (!next.getChanges().isEmpty()) {
+                        result.setResult(ResponseEntity.ok(next));
+                        return;
+                    }
+                    missed = signals.addAndGet(-missed);
+                } while (missed != 0);
+            } catch (StudentException se) {
+                result.setResult(errorResponder.respond(se));
+            }
+        };
+        Runnable listener = () -> {
+            if (result.isSetOrExpired() || signals.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                feedExecutor.execute(fetch);
+            } catch (RejectedExecutionException se) {
+                result.setResult(ResponseEntity.ok(page));
+            }
+        };
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(page)));
+        result.onCompletion(() -> changeFeedService.removeChangeListener(listener));
+        changeFeedService.addChangeListener(listener);
+        return result;
+    }
+
+    /**
+     * GET /changes/stream?after={sequence} - Streams changes as Server-Sent Events.
+     * Each event carries the sequence number as its id, so a reconnecting client
+     * resumes from the Last-Event-ID header.
+     *
+     * @param after the last sequence number already consumed
+     * @param lastEventId the Last-Event-ID header sent on reconnection
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long start = after != null ? after : (lastEventId != null ? lastEventId : 0L);
+        AtomicLong position = new AtomicLong(start);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+
+        ChangeStream stream = new ChangeStream(emitter, start);
+        emitter.onCompletion(() -> changeFeedService.removeChangeListener(stream));
+        emitter.onTimeout(() -> changeFeedService.removeChangeListener(stream));
+        emitter.onError(error -> changeFeedService.removeChangeListener(stream));
+        changeFeedService.addChangeListener(stream);
+
+        // Catch up on the backlog off the request thread so it is never buffered as a whole.
+        stream.run();
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feedExecutor.shutdownNow();
+    }
+
+    private static ExecutorService newFeedExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(FEED_THREADS, FEED_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(FEED_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * A Server-Sent Events stream of changes. As a change listener it only wakes its send task;
+     * signals arriving while the task runs make it fetch once more instead of starting another.
+     */
+    private final class ChangeStream implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final AtomicLong position;
+
+        private final AtomicInteger signals = new AtomicInteger();
+
+        private ChangeStream(SseEmitter emitter, long start) {
+            this.emitter = emitter;
+            this.position = new AtomicLong(start);
+        }
+
+        @Override
+        public void run() {
+            if (signals.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                feedExecutor.execute(this::sendPendingChanges);
+            } catch (RejectedExecutionException se) {
+                logger.debug("Closing change stream at sequence {}: change feed executor is saturated", position.get());
+                emitter.completeWithError(se);
+            }
+        }
+
+        private void sendPendingChanges() {
+            int missed = signals.get();
+            try {
+                do {
+                    ChangePageDTO page;
+                    do {
+                        page = changeFeedService.getChanges(position.get(), MAX_PAGE_SIZE);
+                        for (ChangeRecordDTO change : page.getChanges()) {
+                            emitter.send(SseEmitter.event()
+                                                   .id(String.valueOf(change.getSequence()))
+                                                   .name("change")
+                                                   .data(change, MediaType.APPLICATION_JSON));
+                        }
+                        position.set(page.getLastSequence());
+                    } while (page.getChanges().size() == MAX_PAGE_SIZE);
+                    missed = signals.addAndGet(-missed);
+                } while (missed != 0);
+            } catch (StudentException | IOException | IllegalStateException se) {
+                logger.debug("Closing change stream at sequence {}: {}", position.get(), se.getMessage());
+                changeFeedService.removeChangeListener(this);
+                emitter.completeWithError(se);
+            }
+        }
+    }
+}
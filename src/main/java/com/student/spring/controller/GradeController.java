@@ -3,8 +3,7 @@ package com.student.spring.controller;
 import java.util.List;
 import java.util.Locale;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
@@ -21,6 +20,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.GradeStatsDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
 import com.student.spring.exception.StudentException;
 import com.student.spring.service.GradeService;
 import com.student.spring.service.StudentService;
@@ -31,15 +33,17 @@ import jakarta.validation.Valid;
  * REST Controller for managing Grade entities using DTOs.
  */
 @PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
 @RestController
 @RequestMapping("/grades")
 public class GradeController {
 
-    private static final Logger logger = LoggerFactory.getLogger(GradeController.class);
-
     @Autowired
     private GradeService gradeService;
 
+    @Autowired
+    private ErrorResponder errorResponder;
+
     @Autowired
     private StudentService studentService;
 
@@ -57,17 +61,14 @@ public class GradeController {
     public ResponseEntity<?> addGrade(@RequestBody @Valid GradeDTO gradeDTO, @RequestParam int studentId) {
         try {
             if (!studentService.isStudentExists(studentId)) {
-                String msg = messageSource.getMessage("grade.studentnotfound", new Object[]{studentId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.STUDENT_NOT_FOUND, studentId);
             }
             int gradeId = gradeService.addGrade(gradeDTO);
             gradeDTO.setGradeId(gradeId);
             String msg = messageSource.getMessage("grade.created", null, Locale.getDefault());
             return ResponseEntity.status(HttpStatus.CREATED).body(msg);
         } catch (StudentException se) {
-            logger.error("Error adding grade", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.badRequest().body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -82,9 +83,22 @@ public class GradeController {
             List<GradeDTO> grades = gradeService.getAllGrades();
             return ResponseEntity.ok(grades);
         } catch (StudentException se) {
-            logger.error("Error retrieving grades", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /grades/stats - Retrieves student counts per grade letter and standard.
+     *
+     * @return the grade distribution or an error message
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getGradeStats() {
+        try {
+            GradeStatsDTO stats = gradeService.getGradeStats();
+            return ResponseEntity.ok(stats);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
         }
     }
 
@@ -100,9 +114,7 @@ public class GradeController {
             List<GradeDTO> grades = gradeService.getGradesByStudentId(studentId);
             return ResponseEntity.ok(grades);
         } catch (StudentException se) {
-            logger.error("Error retrieving grades for student {}", studentId, se);
-            String msg = messageSource.getMessage("grade.notfound", new Object[]{studentId}, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -121,9 +133,7 @@ public class GradeController {
             String msg = messageSource.getMessage("grade.updated", null, Locale.getDefault());
             return ResponseEntity.ok(msg);
         } catch (StudentException se) {
-            logger.error("Error updating grade", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.badRequest().body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -140,9 +150,7 @@ public class GradeController {
             String msg = messageSource.getMessage("grade.deleted", null, Locale.getDefault());
             return ResponseEntity.ok(msg);
         } catch (StudentException se) {
-            logger.error("Error deleting grade", se);
-            String msg = messageSource.getMessage("grade.notfound", new Object[]{gradeId}, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+            return errorResponder.respond(se);
         }
     }
 }
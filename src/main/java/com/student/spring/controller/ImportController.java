@@ -0,0 +1,98 @@
+package com.student.spring.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import com.student.spring.dto.ImportJobDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
+import com.student.spring.exception.StudentException;
+import com.student.spring.service.ImportService;
+
+/**
+ * REST controller for bulk imports.
+ *
+ * An upload is stored and answered right away with a job ID; the rows are imported in the
+ * background and the job can be polled for progress and rejected rows.
+ */
+@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+@Observed(name = "controller.method")
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
+
+    private static final int MAX_ERRORS_PER_PAGE = 1000;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ErrorResponder errorResponder;
+
+    /**
+     * POST /imports/students - Uploads a CSV file of students for import.
+     * The header row names the columns firstName, lastName, phoneNo, email, address,
+     * dob (yyyy-MM-dd), gradeId, membershipId and activityIds (IDs separated by ';').
+     *
+     * @param file the CSV file, as multipart form field "file"
+     * @return the queued job with HTTP 202 status, or an error message
+     */
+    @PostMapping(value = "/students", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStudents(@RequestPart("file") MultipartFile file) {
+        logger.info("POST /imports/students - Uploading {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        if (file.isEmpty()) {
+            return errorResponder.respond(ErrorCode.INVALID_REQUEST, "the uploaded file is empty");
+        }
+        try (InputStream content = file.getInputStream()) {
+            ImportJobDTO job = importService.createStudentImport(file.getOriginalFilename(), content);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        } catch (IOException se) {
+            return errorResponder.respond(new StudentException("Error reading uploaded import file", se));
+        }
+    }
+
+    /**
+     * GET /imports/{jobId} - Retrieves the progress of an import job and its rejected rows.
+     * Errors are returned in row order; pass the last returned row number as
+     * {@code errorsAfterRow} to get the next page.
+     *
+     * @param jobId the ID of the job
+     * @param errorsAfterRow only errors of rows after this row number are returned
+     * @param errorLimit the maximum number of errors to return, at most 1000
+     * @return the ImportJobDTO, HTTP 404 if the job does not exist, or an error message
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable("jobId") long jobId,
+                                          @RequestParam(defaultValue = "0") long errorsAfterRow,
+                                          @RequestParam(defaultValue = "100") int errorLimit) {
+        logger.info("GET /imports/{} - Fetching import job", jobId);
+        if (errorLimit < 0 || errorLimit > MAX_ERRORS_PER_PAGE) {
+            return errorResponder.respond(ErrorCode.INVALID_LIMIT, "errorLimit", 0, MAX_ERRORS_PER_PAGE);
+        }
+        try {
+            ImportJobDTO job = importService.getImportJob(jobId, errorsAfterRow, errorLimit);
+            return ResponseEntity.ok(job);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+}
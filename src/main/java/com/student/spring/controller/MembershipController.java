@@ -1,14 +1,25 @@
 package com.student.spring.controller;
 
-import java.sql.Date;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,10 +29,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.student.spring.dto.MembershipDTO;
+import com.student.spring.dto.MembershipPageDTO;
+import com.student.spring.dto.MembershipRenewalRequestDTO;
+import com.student.spring.dto.MembershipRenewalResultDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
 import com.student.spring.exception.StudentException;
 import com.student.spring.service.MembershipService;
+import com.student.spring.util.CsvWriter;
+import com.student.spring.util.MembershipTerms;
 import jakarta.validation.Valid;
 
 /**
@@ -29,15 +49,21 @@ import jakarta.validation.Valid;
  * Handles create, read, update, and delete operations with internationalized messages.
  */
 @PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
 @RestController
 @RequestMapping("/memberships")
 public class MembershipController {
 
     private static final Logger logger = LoggerFactory.getLogger(MembershipController.class);
 
+    private static final int MAX_EXPIRING_PAGE_SIZE = 1000;
+
     @Autowired
     private MembershipService membershipService;
 
+    @Autowired
+    private ErrorResponder errorResponder;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -51,16 +77,11 @@ public class MembershipController {
     public ResponseEntity<?> addMembership(@RequestBody @Valid MembershipDTO membershipDTO) {
         try {
             LocalDate currentDate = LocalDate.now();
-            membershipDTO.setStartDate(Date.valueOf(currentDate));
+            membershipDTO.setStartDate(currentDate);
 
-            int expiryMonths = switch (membershipDTO.getMembershipType().toLowerCase()) {
-                case "standard" -> 3;
-                case "premium" -> 6;
-                case "platinum" -> 12;
-                default -> throw new StudentException("Invalid membership type: " + membershipDTO.getMembershipType());
-            };
+            int expiryMonths = MembershipTerms.expiryMonths(membershipDTO.getMembershipType());
 
-            membershipDTO.setExpiryDate(Date.valueOf(currentDate.plusMonths(expiryMonths)));
+            membershipDTO.setExpiryDate(currentDate.plusMonths(expiryMonths));
 
             int membershipId = membershipService.addMembership(membershipDTO);
             membershipDTO.setMembershipId(membershipId);
@@ -69,51 +90,160 @@ public class MembershipController {
             String msg = messageSource.getMessage("membership.created", null, Locale.getDefault());
             return ResponseEntity.status(HttpStatus.CREATED).body(msg);
         } catch (StudentException se) {
-            logger.error("Error adding membership: {}", se.getMessage(), se);
-            return ResponseEntity.badRequest().body("Error: " + se.getMessage());
-        } catch (Exception se) {
-            logger.error("Unexpected error while adding membership", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * POST /memberships/renewals - Renews memberships in bulk.
+     *
+     * @param request either an ID list (membershipIds/studentIds) or a selector
+     *                (membershipType, expiringFrom, expiringTo, gradeId, standard)
+     * @return the matched, renewed and skipped counts; HTTP 500 with the counts reached so far
+     *         if a chunk failed, or an error message
+     */
+    @PostMapping("/renewals")
+    public ResponseEntity<?> renewMemberships(@RequestBody MembershipRenewalRequestDTO request) {
+        try {
+            MembershipRenewalResultDTO result = membershipService.renewMemberships(request);
+            if (!result.isCompleted()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
         }
     }
 
     /**
      * GET /memberships - Retrieves all memberships.
+     * With {@code ?fields=membershipId,expiryDate} only those fields are queried and returned.
      *
-     * @return a list of MembershipDTOs or an error message
+     * @param fields the fields to return (optional; all fields when absent)
+     * @return a list of MembershipDTOs, or of field maps when fields are given, or an error message
      */
     @GetMapping
-    public ResponseEntity<?> getAllMemberships() {
+    public ResponseEntity<?> getAllMemberships(@RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            try {
+                List<Map<String, Object>> memberships = membershipService.getAllMembershipFields(fields);
+                return ResponseEntity.ok(memberships);
+            } catch (StudentException se) {
+                return errorResponder.respond(se);
+            }
+        }
         try {
             List<MembershipDTO> memberships = membershipService.getAllMemberships();
             return ResponseEntity.ok(memberships);
         } catch (StudentException se) {
-            logger.error("Error retrieving memberships", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /memberships/expiring - Retrieves one keyset page of memberships expiring in a window.
+     *
+     * @param from the first expiry date to include (yyyy-MM-dd)
+     * @param to the last expiry date to include (yyyy-MM-dd)
+     * @param type the membership type to filter on (optional)
+     * @param cursor the nextCursor returned with the previous page (optional)
+     * @param limit the page size, from 1 to 1000
+     * @return a MembershipPageDTO, HTTP 400 if limit is out of range, or an error message
+     */
+    @GetMapping("/expiring")
+    public ResponseEntity<?> getExpiringMemberships(@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                                    @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+                                                    @RequestParam(required = false) String type,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_EXPIRING_PAGE_SIZE) {
+            return errorResponder.respond(ErrorCode.INVALID_LIMIT, "limit", 1, MAX_EXPIRING_PAGE_SIZE);
+        }
+        try {
+            MembershipPageDTO page = membershipService.getExpiringMemberships(from, to, type, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /memberships/expiring.csv - Streams all memberships expiring in a window as CSV.
+     * Rows are fetched in keyset chunks and written as they arrive, so large windows are
+     * never held in memory.
+     *
+     * @param from the first expiry date to include (yyyy-MM-dd)
+     * @param to the last expiry date to include (yyyy-MM-dd)
+     * @param type the membership type to filter on (optional)
+     * @return a streaming CSV body
+     * @throws StudentException if the window is empty, answered with an error message
+     */
+    @GetMapping(value = "/expiring.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportExpiringMemberships(
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String type) throws StudentException {
+        // Declared with the body type, as Spring MVC only streams a ResponseEntity<StreamingResponseBody>
+        if (from.isAfter(to)) {
+            throw new StudentException(ErrorCode.INVALID_EXPIRY_WINDOW, from, to);
         }
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            CsvWriter csv = new CsvWriter(writer);
+            csv.writeRecord(List.of("membershipId", "membershipType", "startDate", "expiryDate", "expired"));
+            String cursor = null;
+            try {
+                do {
+                    MembershipPageDTO page = membershipService.getExpiringMemberships(from, to, type, cursor,
+                            MAX_EXPIRING_PAGE_SIZE);
+                    for (MembershipDTO membership : page.getMemberships()) {
+                        csv.writeRecord(Arrays.asList(membership.getMembershipId(), membership.getMembershipType(),
+                                membership.getStartDate(), membership.getExpiryDate(), membership.isExpired()));
+                    }
+                    writer.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+            } catch (StudentException se) {
+                logger.error("Error streaming expiring memberships", se);
+                throw new IOException(se);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expiring-memberships.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 
     /**
      * GET /memberships/{membershipId} - Retrieves a membership by ID.
+     * With {@code ?fields=} only the given fields are queried and returned.
      *
      * @param membershipId the ID of the membership
-     * @return the MembershipDTO or an error message
+     * @param fields the fields to return (optional; all fields when absent)
+     * @return the MembershipDTO, or a field map when fields are given, or an error message
      */
     @GetMapping("/{membershipId}")
-    public ResponseEntity<?> getMembershipById(@PathVariable("membershipId") int membershipId) {
+    public ResponseEntity<?> getMembershipById(@PathVariable("membershipId") int membershipId,
+                                               @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            try {
+                Map<String, Object> membership = membershipService.getMembershipFieldsById(membershipId, fields);
+                if (membership == null) {
+                    return errorResponder.respond(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipId);
+                }
+                return ResponseEntity.ok(membership);
+            } catch (StudentException se) {
+                return errorResponder.respond(se);
+            }
+        }
         try {
             MembershipDTO membershipDTO = membershipService.getMembershipById(membershipId);
             if (membershipDTO == null) {
-                String msg = messageSource.getMessage("membership.notfound", new Object[]{membershipId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipId);
             }
             return ResponseEntity.ok(membershipDTO);
         } catch (StudentException se) {
-            logger.error("Error retrieving membership {}", membershipId, se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -130,22 +260,20 @@ public class MembershipController {
         try {
             MembershipDTO existing = membershipService.getMembershipById(membershipId);
             if (existing == null) {
-                String msg = messageSource.getMessage("membership.notfound", new Object[]{membershipId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipId);
             }
 
             membershipDTO.setMembershipId(membershipId);
             membershipDTO.setStartDate(existing.getStartDate());
             membershipDTO.setExpiryDate(existing.getExpiryDate());
+            membershipDTO.setExpired(existing.isExpired());
 
             membershipService.updateMembership(membershipDTO);
             logger.info("Membership updated successfully for ID: {}", membershipId);
             String msg = messageSource.getMessage("membership.updated", null, Locale.getDefault());
             return ResponseEntity.ok(msg);
         } catch (StudentException se) {
-            logger.error("Error updating membership {}", membershipId, se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.badRequest().body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -163,9 +291,7 @@ public class MembershipController {
             String msg = messageSource.getMessage("membership.deleted", null, Locale.getDefault());
             return ResponseEntity.ok(msg);
         } catch (StudentException se) {
-            logger.error("Error deleting membership {}", membershipId, se);
-            String msg = messageSource.getMessage("membership.notfound", new Object[]{membershipId}, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+            return errorResponder.respond(se);
         }
     }
 }
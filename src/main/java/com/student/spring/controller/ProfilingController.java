@@ -0,0 +1,114 @@
+package com.student.spring.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.student.spring.dto.ProfilingCaptureDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
+import com.student.spring.exception.StudentException;
+import com.student.spring.service.ProfilingService;
+
+/**
+ * REST controller for on-demand profiling captures of the running application.
+ *
+ * A capture is started with a POST and records for the requested time in the background;
+ * once completed, its summary lists the hottest methods, the largest allocators and the
+ * time per service operation, and the JFR file can be downloaded for JDK Mission Control.
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
+@RestController
+@RequestMapping("/profiling")
+public class ProfilingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingController.class);
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @Autowired
+    private ErrorResponder errorResponder;
+
+    /**
+     * POST /profiling/captures?settings=profile&amp;seconds=30 - Starts a profiling capture.
+     *
+     * @param settings the JDK settings to record with, "default" or "profile" (optional; default "default")
+     * @param seconds the length of the capture (optional; default 30)
+     * @return the running capture with HTTP 202 status, HTTP 409 if a capture is already running, or an error message
+     */
+    @PostMapping("/captures")
+    public ResponseEntity<?> startCapture(@RequestParam(defaultValue = "default") String settings,
+                                          @RequestParam(defaultValue = "30") int seconds) {
+        logger.info("POST /profiling/captures - Starting {}s profiling capture with {} settings", seconds, settings);
+        try {
+            ProfilingCaptureDTO capture = profilingService.startCapture(settings, seconds);
+            if (capture == null) {
+                return errorResponder.respond(ErrorCode.CAPTURE_RUNNING);
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(capture);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /profiling/captures/{captureId} - Retrieves the state of a capture and, once completed, its summary.
+     *
+     * @param captureId the ID of the capture
+     * @return the ProfilingCaptureDTO, HTTP 404 if the capture does not exist, or an error message
+     */
+    @GetMapping("/captures/{captureId}")
+    public ResponseEntity<?> getCapture(@PathVariable("captureId") long captureId) {
+        logger.info("GET /profiling/captures/{} - Fetching profiling capture", captureId);
+        try {
+            ProfilingCaptureDTO capture = profilingService.getCapture(captureId);
+            if (capture == null) {
+                return errorResponder.respond(ErrorCode.RESOURCE_NOT_FOUND, "Profiling capture", captureId);
+            }
+            return ResponseEntity.ok(capture);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /profiling/captures/{captureId}/recording - Downloads the JFR file of a completed capture.
+     *
+     * @param captureId the ID of the capture
+     * @return the recording, HTTP 404 if the capture does not exist or has not completed, or an error message
+     */
+    @GetMapping("/captures/{captureId}/recording")
+    public ResponseEntity<?> downloadRecording(@PathVariable("captureId") long captureId) {
+        logger.info("GET /profiling/captures/{}/recording - Downloading profiling recording", captureId);
+        try {
+            Path recording = profilingService.getCaptureRecording(captureId);
+            if (recording == null || !Files.exists(recording)) {
+                return errorResponder.respond(ErrorCode.RESOURCE_NOT_FOUND, "Recording of profiling capture", captureId);
+            }
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                 .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                         .filename(recording.getFileName().toString()).build().toString())
+                                 .body(new FileSystemResource(recording));
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.student.spring.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.student.spring.dto.ExportJobDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
+import com.student.spring.exception.StudentException;
+import com.student.spring.service.SnapshotExportService;
+
+/**
+ * REST controller for point-in-time snapshot exports.
+ *
+ * An export is started with a POST and runs in the background; once completed, its
+ * gzipped CSV parts for students, memberships, grades and activity enrollments can be
+ * downloaded one by one and are consistent with each other.
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Observed(name = "controller.method")
+@RestController
+@RequestMapping("/exports")
+public class SnapshotExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExportController.class);
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private SnapshotExportService snapshotExportService;
+
+    @Autowired
+    private ErrorResponder errorResponder;
+
+    /**
+     * POST /exports/snapshot - Starts a snapshot export.
+     *
+     * @return the queued job with HTTP 202 status, or an error message
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<?> createSnapshotExport() {
+        logger.info("POST /exports/snapshot - Starting snapshot export");
+        try {
+            ExportJobDTO job = snapshotExportService.createSnapshotExport();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /exports/{jobId} - Retrieves the state of a snapshot export and, once completed, its parts.
+     *
+     * @param jobId the ID of the export
+     * @return the ExportJobDTO, HTTP 404 if the export does not exist, or an error message
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getSnapshotExport(@PathVariable("jobId") long jobId) {
+        logger.info("GET /exports/{} - Fetching snapshot export", jobId);
+        try {
+            ExportJobDTO job = snapshotExportService.getSnapshotExport(jobId);
+            return ResponseEntity.ok(job);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /exports/{jobId}/parts/{partName} - Downloads one gzipped CSV part of a completed export.
+     *
+     * @param jobId the ID of the export
+     * @param partName the part's file name, e.g. students.csv.gz
+     * @return the part file, HTTP 404 if the export has not completed or has no such part, or an error message
+     */
+    @GetMapping("/{jobId}/parts/{partName:.+}")
+    public ResponseEntity<?> downloadSnapshotPart(@PathVariable("jobId") long jobId,
+                                                  @PathVariable("partName") String partName) {
+        logger.info("GET /exports/{}/parts/{} - Downloading snapshot part", jobId, partName);
+        try {
+            Path part = snapshotExportService.getSnapshotPart(jobId, partName);
+            if (!Files.exists(part)) {
+                return errorResponder.respond(ErrorCode.RESOURCE_NOT_FOUND, "Export part", partName);
+            }
+            return ResponseEntity.ok()
+                                 .contentType(GZIP)
+                                 .header(HttpHeaders.CONTENT_DISPOSITION,
+                                         ContentDisposition.attachment().filename(partName).build().toString())
+                                 .body(new FileSystemResource(part));
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+}
@@ -2,23 +2,33 @@ package com.student.spring.controller;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.student.spring.dto.StudentDTO;
 import com.student.spring.dto.StudentInputDTO;
+import com.student.spring.dto.StudentLookupDTO;
+import com.student.spring.dto.StudentSearchResultDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.ErrorResponder;
 import com.student.spring.exception.StudentException;
 import com.student.spring.service.StudentService;
 import jakarta.validation.Valid;
@@ -28,6 +38,7 @@ import jakarta.validation.Valid;
  * Handles CRUD operations and integrates message localization using MessageSource.
  */
 @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+@Observed(name = "controller.method")
 @RestController
 @RequestMapping("/students")
 public class StudentController {
@@ -40,47 +51,116 @@ public class StudentController {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private ErrorResponder errorResponder;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int MAX_LOOKUP_IDS = 1000;
+
     /**
      * GET /students - Retrieves all students.
+     * With {@code ?fields=studentId,firstName,grade.standard} only those fields are queried and returned.
      *
-     * @return a list of StudentDTOs or an error message
+     * @param fields the fields to return (optional; all fields when absent)
+     * @return a list of StudentDTOs, or of field maps when fields are given, or an error message
      */
     @GetMapping
-    public ResponseEntity<?> getAllStudents() {
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) List<String> fields) {
         logger.info("GET /students - Fetching all students");
+        if (fields != null) {
+            try {
+                List<Map<String, Object>> students = studentService.getAllStudentFields(fields);
+                logger.info("Successfully fetched fields of {} student(s)", students.size());
+                return ResponseEntity.ok(students);
+            } catch (StudentException se) {
+                return errorResponder.respond(se);
+            }
+        }
         try {
             List<StudentDTO> studentDTOs = studentService.getAllStudents();
             logger.info("Successfully fetched {} student(s)", studentDTOs.size());
             return ResponseEntity.ok(studentDTOs);
         } catch (StudentException se) {
-            logger.error("Error fetching all students", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
         }
     }
 
     /**
      * GET /students/{studentId} - Retrieves a student by ID.
+     * With {@code ?fields=} only the given fields are queried and returned.
      *
      * @param studentId the ID of the student
-     * @return the StudentDTO or an error message
+     * @param fields the fields to return (optional; all fields when absent)
+     * @return the StudentDTO, or a field map when fields are given, or an error message
      */
     @GetMapping("/{studentId}")
-    public ResponseEntity<?> getStudentById(@PathVariable("studentId") int studentId) {
+    public ResponseEntity<?> getStudentById(@PathVariable("studentId") int studentId,
+                                            @RequestParam(required = false) List<String> fields) {
         logger.info("GET /students/{} - Fetching student by ID", studentId);
+        if (fields != null) {
+            try {
+                Map<String, Object> student = studentService.getStudentFieldsById(studentId, fields);
+                if (student == null) {
+                    return errorResponder.respond(ErrorCode.STUDENT_NOT_FOUND, studentId);
+                }
+                return ResponseEntity.ok(student);
+            } catch (StudentException se) {
+                return errorResponder.respond(se);
+            }
+        }
         try {
             StudentDTO studentDTO = studentService.getStudentById(studentId);
             if (studentDTO == null) {
-                logger.warn("Student not found with ID: {}", studentId);
-                String msg = messageSource.getMessage("student.notfound", new Object[]{studentId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.STUDENT_NOT_FOUND, studentId);
             }
             logger.info("Student with ID {} found", studentId);
             return ResponseEntity.ok(studentDTO);
         } catch (StudentException se) {
-            logger.error("Error retrieving student with ID: {}", studentId, se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * GET /students?ids=1,2,3 - Retrieves several students with one call.
+     *
+     * @param ids the IDs of the students (at most 1000)
+     * @return one entry per requested ID in request order, each with a found flag and the
+     *         StudentDTO when found, or an error message
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getStudentsByIds(@RequestParam("ids") List<Integer> ids) {
+        logger.info("GET /students?ids - Fetching {} student(s) by ID", ids.size());
+        return lookupStudents(ids);
+    }
+
+    /**
+     * POST /students/lookup - Retrieves several students with one call, for ID lists too
+     * long for a query string.
+     *
+     * @param ids a JSON array of student IDs (at most 1000)
+     * @return one entry per requested ID in request order, each with a found flag and the
+     *         StudentDTO when found, or an error message
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupStudentsByIds(@RequestBody List<Integer> ids) {
+        logger.info("POST /students/lookup - Fetching {} student(s) by ID", ids.size());
+        return lookupStudents(ids);
+    }
+
+    private ResponseEntity<?> lookupStudents(List<Integer> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return errorResponder.respond(ErrorCode.TOO_MANY_IDS, MAX_LOOKUP_IDS);
+        }
+        if (ids.contains(null)) {
+            return errorResponder.respond(ErrorCode.INVALID_REQUEST, "student IDs must not be empty");
+        }
+        try {
+            List<StudentLookupDTO> students = studentService.getStudentsByIds(ids);
+            logger.info("Fetched {} requested student ID(s)", students.size());
+            return ResponseEntity.ok(students);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
         }
     }
 
@@ -88,7 +168,8 @@ public class StudentController {
      * POST /students - Registers a new student.
      *
      * @param studentInputDTO the student input data in flat JSON format
-     * @return the created student DTO or error message
+     * @return the created student DTO, HTTP 409 if duplicates are rejected and a student with
+     *         the same email or phone number exists, or an error message
      */
     @PostMapping
     public ResponseEntity<?> registerStudent(@RequestBody @Valid StudentInputDTO studentInputDTO) {
@@ -99,9 +180,7 @@ public class StudentController {
             String msg = messageSource.getMessage("student.created", null, Locale.getDefault());
             return ResponseEntity.status(HttpStatus.CREATED).body(savedStudent);
         } catch (StudentException se) {
-            logger.error("Error registering student", se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.badRequest().body(msg);
+            return errorResponder.respond(se);
         }
     }
 
@@ -118,9 +197,7 @@ public class StudentController {
         logger.info("PUT /students/{} - Updating student", studentId);
         try {
             if (!studentService.isStudentExists(studentId)) {
-                logger.warn("Update failed - Student not found with ID: {}", studentId);
-                String msg = messageSource.getMessage("student.notfound", new Object[]{studentId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.STUDENT_NOT_FOUND, studentId);
             }
 
             StudentDTO updatedStudent = studentService.updateStudentFromInput(studentId, studentInputDTO);
@@ -128,9 +205,56 @@ public class StudentController {
             String msg = messageSource.getMessage("student.updated", null, Locale.getDefault());
             return ResponseEntity.ok(updatedStudent);
         } catch (StudentException se) {
-            logger.error("Error updating student with ID: {}", studentId, se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.badRequest().body(msg);
+            return errorResponder.respond(se);
+        }
+    }
+
+    /**
+     * PATCH /students/{studentId} - Partially updates a student with a JSON Merge Patch.
+     *
+     * @param studentId the ID of the student
+     * @param mergePatch the merge patch using the flat input field names
+     * @return the patched student DTO or error message
+     */
+    @PatchMapping(value = "/{studentId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchStudent(@PathVariable("studentId") int studentId,
+                                          @RequestBody JsonNode mergePatch) {
+        logger.info("PATCH /students/{} - Patching student", studentId);
+        try {
+            StudentDTO patchedStudent = studentService.patchStudent(studentId, mergePatch);
+            logger.info("Student patched successfully with ID: {}", studentId);
+            return ResponseEntity.ok(patchedStudent);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
+        }
+    }
+
+
+    /**
+     * GET /students/search?q= - Searches students by first name, last name, email and phone number.
+     * Every word of the query must match the start of a word in one of those fields, e.g.
+     * {@code ?q=jo smi} finds "John Smith".
+     *
+     * @param q the search text
+     * @param limit the maximum number of students to return (at most 100)
+     * @return the match count and best ranked students with HTTP 200 status if successful,
+     *         HTTP 400 for an invalid query, or HTTP 503 while the search index is being built
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchStudents(@RequestParam("q") String q,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("GET /students/search - Searching students");
+        if (limit < 0 || limit > MAX_SEARCH_RESULTS) {
+            return errorResponder.respond(ErrorCode.INVALID_LIMIT, "limit", 0, MAX_SEARCH_RESULTS);
+        }
+        if (!studentService.isSearchReady()) {
+            return errorResponder.respond(ErrorCode.NOT_READY, "Student search index");
+        }
+        try {
+            StudentSearchResultDTO result = studentService.searchStudents(q, limit);
+            return ResponseEntity.ok(result);
+        } catch (StudentException se) {
+            return errorResponder.respond(se);
         }
     }
 
@@ -146,18 +270,14 @@ public class StudentController {
         logger.info("DELETE /students/{} - Deleting student", studentId);
         try {
             if (!studentService.isStudentExists(studentId)) {
-                logger.warn("Delete failed - Student not found with ID: {}", studentId);
-                String msg = messageSource.getMessage("student.notfound", new Object[]{studentId}, Locale.getDefault());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(msg);
+                return errorResponder.respond(ErrorCode.STUDENT_NOT_FOUND, studentId);
             }
             studentService.deleteStudent(studentId);
             logger.info("Student deleted successfully with ID: {}", studentId);
             String msg = messageSource.getMessage("student.deleted", null, Locale.getDefault());
             return ResponseEntity.ok(msg);
         } catch (StudentException se) {
-            logger.error("Error deleting student with ID: {}", studentId, se);
-            String msg = messageSource.getMessage("error.internal", null, Locale.getDefault());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(msg);
+            return errorResponder.respond(se);
         }
     }
 }
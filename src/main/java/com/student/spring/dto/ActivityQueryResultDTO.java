@@ -0,0 +1,21 @@
+package com.student.spring.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of an activity enrollment set query: the number of matching students
+ * and their IDs in ascending order, truncated to the requested limit.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityQueryResultDTO {
+    private long count;
+    private List<Integer> studentIds;
+}
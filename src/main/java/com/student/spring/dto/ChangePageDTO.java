@@ -0,0 +1,21 @@
+package com.student.spring.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A batch of change records. {@code lastSequence} is passed back as {@code after}
+ * to continue the feed; it equals the requested position when no changes were returned.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangePageDTO {
+    private List<ChangeRecordDTO> changes;
+    private long lastSequence;
+}
@@ -0,0 +1,26 @@
+package com.student.spring.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeRecordDTO {
+    private long sequence;
+    private String entityType;
+    private int entityId;
+    private String operation;
+
+    @JsonRawValue
+    private String payload;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,19 @@
+package com.student.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Body of an error response: the error code, the HTTP status and the message.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponseDTO {
+    private String code;
+    private int status;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.student.spring.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * State of a snapshot export job. The parts are listed once the export has completed.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDTO {
+    private long jobId;
+    private String status;
+    private long totalRows;
+    private String message;
+    private Instant createdAt;
+    private Instant snapshotAt;
+    private Instant finishedAt;
+    private List<ExportPartDTO> parts;
+}
@@ -0,0 +1,19 @@
+package com.student.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One part of a snapshot export: its file name, the table it holds and its row count.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportPartDTO {
+    private String name;
+    private String table;
+    private long rows;
+}
@@ -0,0 +1,27 @@
+package com.student.spring.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Distribution of students over grade letters and standards.
+ * {@code byStandardAndGrade} maps standard to grade letter to count;
+ * {@code unassigned} counts students without a grade.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeStatsDTO {
+    private long totalStudents;
+    private long unassigned;
+    private Map<String, Long> byGrade;
+    private Map<Integer, Long> byStandard;
+    private Map<Integer, Map<String, Long>> byStandardAndGrade;
+    private Instant lastReconciled;
+}
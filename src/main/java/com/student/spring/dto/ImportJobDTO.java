@@ -0,0 +1,32 @@
+package com.student.spring.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of an import job, with one page of its row errors.
+ * totalRows is null until the worker has picked the job up.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private long jobId;
+    private String fileName;
+    private String status;
+    private Long totalRows;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String message;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<ImportRowErrorDTO> errors;
+}
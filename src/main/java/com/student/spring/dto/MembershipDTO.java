@@ -1,6 +1,7 @@
 package com.student.spring.dto;
 
 import java.sql.Date;
+import java.time.LocalDate;
 
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -14,9 +15,18 @@ import lombok.Setter;
 @AllArgsConstructor
 public class MembershipDTO {
     private int membershipId;
-    private Date startDate;
-    private Date expiryDate;
+    private LocalDate startDate;
+    private LocalDate expiryDate;
+    private boolean expired;
     
     @NotBlank(message = "Membership type is required")
     private String membershipType;
+
+    /**
+     * Used by the JPQL constructor projections, which select the java.sql.Date columns of Membership.
+     */
+    public MembershipDTO(int membershipId, Date startDate, Date expiryDate, boolean expired, String membershipType) {
+        this(membershipId, startDate != null ? startDate.toLocalDate() : null,
+             expiryDate != null ? expiryDate.toLocalDate() : null, expired, membershipType);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.student.spring.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One keyset page of memberships. {@code nextCursor} is passed back as the
+ * {@code cursor} parameter to fetch the following page and is null on the last page.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipPageDTO {
+    private List<MembershipDTO> memberships;
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.student.spring.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Input DTO for bulk membership renewal.
+ * Either an ID list (membershipIds and/or studentIds) or a selector
+ * (membershipType, expiry window, gradeId and/or standard) must be given, not both.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipRenewalRequestDTO {
+    private List<Integer> membershipIds;
+    private List<Integer> studentIds;
+
+    private String membershipType;
+    private LocalDate expiringFrom;
+    private LocalDate expiringTo;
+
+    private Integer gradeId;
+    private Integer standard;
+}
@@ -0,0 +1,27 @@
+package com.student.spring.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a bulk membership renewal: how many memberships matched,
+ * how many were renewed (in total and per type) and how many were skipped
+ * because their type has no known term. If a chunk fails, completed is false,
+ * failure describes the error and the counts cover the chunks renewed before it.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipRenewalResultDTO {
+    private int matched;
+    private int renewed;
+    private int skipped;
+    private Map<String, Integer> renewedByType;
+    private boolean completed;
+    private String failure;
+}
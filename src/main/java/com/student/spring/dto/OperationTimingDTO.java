@@ -0,0 +1,20 @@
+package com.student.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Calls of one service operation recorded during a profiling capture, and the time they took.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationTimingDTO {
+    private String operation;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+}
@@ -0,0 +1,19 @@
+package com.student.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of a profiling report: a method or type, its samples or bytes, and its share of the total.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileEntryDTO {
+    private String name;
+    private long value;
+    private double percent;
+}
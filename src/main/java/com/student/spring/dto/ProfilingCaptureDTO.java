@@ -0,0 +1,27 @@
+package com.student.spring.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * State of an on-demand profiling capture. The summary is filled in once the recording has completed.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingCaptureDTO {
+    private long captureId;
+    private ProfilingCaptureStatus status;
+    private String settings;
+    private int durationSeconds;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long recordingSize;
+    private String message;
+    private ProfilingSummaryDTO summary;
+}
@@ -0,0 +1,10 @@
+package com.student.spring.dto;
+
+/**
+ * Lifecycle state of an on-demand profiling capture.
+ */
+public enum ProfilingCaptureStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.student.spring.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Summary of a profiling capture: the methods most often on CPU, the types and sites that
+ * allocated the most memory and the time spent per service operation.
+ *
+ * Hot methods are counted by the method executing when a sample was taken; hot application
+ * methods by the innermost application method on the sampled stack. Allocations are the
+ * recording's estimate of the bytes allocated, based on its allocation samples.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingSummaryDTO {
+    private long executionSamples;
+    private long allocatedBytes;
+    private List<ProfileEntryDTO> hotMethods;
+    private List<ProfileEntryDTO> hotApplicationMethods;
+    private List<ProfileEntryDTO> allocationsByType;
+    private List<ProfileEntryDTO> allocationSites;
+    private List<OperationTimingDTO> operations;
+}
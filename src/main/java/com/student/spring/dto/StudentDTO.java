@@ -1,16 +1,15 @@
 package com.student.spring.dto;
 
-import java.sql.Date;
+import java.time.LocalDate;
 import java.util.Set;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.student.spring.validation.EmailAddress;
+import com.student.spring.validation.PhoneNumber;
 
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,18 +28,17 @@ public class StudentDTO {
     @NotBlank(message = "Last name is mandatory")
     private String lastName;
     
-    @Pattern(regexp = "\\d{10}", message = "Phone number must be 10 digits")
+    @PhoneNumber
     private String phone;
     
-    @Email(message = "Email should be valid")
+    @EmailAddress
     private String email;
     
     @NotBlank(message = "Address is required")
     private String address;
 
     @NotNull(message = "Date of Birth is required")
-    @JsonFormat(pattern = "yyyy-MM-dd")
-    private Date dob;
+    private LocalDate dob;
     
     @Valid
     @NotNull(message = "Membership is required")
@@ -53,4 +51,6 @@ public class StudentDTO {
     @Valid
     @NotEmpty(message = "At least one activity is required")
     private Set<ActivityDTO> activities;
+
+    private boolean possibleDuplicate;
 }
@@ -0,0 +1,24 @@
+package com.student.spring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One entry of a multi-get response: the requested student ID, whether a student with
+ * that ID exists, and the student itself when it does.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentLookupDTO {
+    private int studentId;
+    private boolean found;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StudentDTO student;
+}
@@ -0,0 +1,21 @@
+package com.student.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A student returned by a search, with the fields that are searched on.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchHitDTO {
+    private int studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNo;
+}
@@ -0,0 +1,21 @@
+package com.student.spring.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of a student search: the total number of matching students and the
+ * best ranked ones, best first, truncated to the requested limit.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchResultDTO {
+    private long total;
+    private List<StudentSearchHitDTO> students;
+}
@@ -0,0 +1,35 @@
+package com.student.spring.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Holds the last feed position handed out to a change record.
+ *
+ * The single row is locked by the pass that publishes committed change records, so only
+ * one publisher at a time assigns positions, even with several application instances.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "change_feed_state")
+public class ChangeFeedState {
+
+        public static final int ID = 1;
+
+        @Id
+        @Column(name = "state_id")
+        private Integer stateId;
+
+        @Column(name = "last_position", nullable = false)
+        private long lastPosition;
+}
@@ -0,0 +1,10 @@
+package com.student.spring.entity;
+
+/**
+ * Kind of change recorded in the change outbox.
+ */
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
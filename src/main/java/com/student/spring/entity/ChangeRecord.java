@@ -0,0 +1,65 @@
+package com.student.spring.entity;
+
+import java.time.Instant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents one domain change written to the transactional outbox.
+ *
+ * Records are inserted in the same transaction as the change they describe. Once that
+ * transaction has committed, the publishing pass gives them a feed position, and the change
+ * feed exposes them to downstream consumers in position order. The payload holds the JSON
+ * of the changed DTO, or is null for deletions and bulk updates.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "change_outbox",
+        indexes = @Index(name = "idx_change_outbox_position", columnList = "feed_position", unique = true))
+public class ChangeRecord {
+
+        public static final String STUDENT = "student";
+        public static final String MEMBERSHIP = "membership";
+        public static final String GRADE = "grade";
+        public static final String ACTIVITY = "activity";
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "change_seq")
+        private Long sequence;
+
+        // Assigned in commit order by the publishing pass; null until the record is published
+        @Column(name = "feed_position")
+        private Long position;
+
+        @Column(name = "entity_type", nullable = false, length = 32)
+        private String entityType;
+
+        @Column(name = "entity_id", nullable = false)
+        private int entityId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "operation", nullable = false, length = 16)
+        private ChangeOperation operation;
+
+        @Column(name = "payload", columnDefinition = "TEXT")
+        private String payload;
+
+        @Column(name = "created_at", nullable = false)
+        private Instant createdAt;
+}
@@ -0,0 +1,60 @@
+package com.student.spring.entity;
+
+import java.time.Instant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents a point-in-time export of the student data to a directory of gzipped CSV parts.
+ *
+ * All parts of one export are read in a single repeatable-read transaction, so they are
+ * mutually consistent as of snapshotAt.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "export_job")
+public class ExportJob {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "job_id")
+        private Long jobId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false, length = 16)
+        private ExportJobStatus status;
+
+        // Directory holding the parts, set once the export has completed
+        @Column(name = "stored_path", length = 1024)
+        private String storedPath;
+
+        @Column(name = "total_rows", nullable = false)
+        private long totalRows;
+
+        @Column(name = "message", length = 1024)
+        private String message;
+
+        @Column(name = "created_at", nullable = false)
+        private Instant createdAt;
+
+        // Start of the snapshot transaction
+        @Column(name = "snapshot_at")
+        private Instant snapshotAt;
+
+        @Column(name = "finished_at")
+        private Instant finishedAt;
+}
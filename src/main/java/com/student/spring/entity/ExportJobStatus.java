@@ -0,0 +1,11 @@
+package com.student.spring.entity;
+
+/**
+ * Lifecycle state of a snapshot export job.
+ */
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,72 @@
+package com.student.spring.entity;
+
+import java.time.Instant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents an uploaded file being imported in the background.
+ *
+ * The uploaded file is kept on disk until the job completes. The row counters are updated
+ * in the same transaction as each chunk of imported rows, so processedRows is a checkpoint:
+ * after a restart the job skips that many rows and continues with the next one.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "import_job")
+public class ImportJob {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "job_id")
+        private Long jobId;
+
+        @Column(name = "file_name")
+        private String fileName;
+
+        @Column(name = "stored_path", length = 1024)
+        private String storedPath;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false, length = 16)
+        private ImportJobStatus status;
+
+        // Number of data rows in the file, known once the worker has started
+        @Column(name = "total_rows")
+        private Long totalRows;
+
+        @Column(name = "processed_rows", nullable = false)
+        private long processedRows;
+
+        @Column(name = "imported_rows", nullable = false)
+        private long importedRows;
+
+        @Column(name = "failed_rows", nullable = false)
+        private long failedRows;
+
+        @Column(name = "message", length = 1024)
+        private String message;
+
+        @Column(name = "created_at", nullable = false)
+        private Instant createdAt;
+
+        @Column(name = "started_at")
+        private Instant startedAt;
+
+        @Column(name = "finished_at")
+        private Instant finishedAt;
+}
@@ -0,0 +1,11 @@
+package com.student.spring.entity;
+
+/**
+ * Lifecycle state of an import job.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
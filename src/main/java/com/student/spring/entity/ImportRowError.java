@@ -0,0 +1,42 @@
+package com.student.spring.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents a row of an import file that could not be imported, and why.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "import_row_error",
+        indexes = @Index(name = "idx_import_row_error_job_row", columnList = "job_id, row_no"))
+public class ImportRowError {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "error_id")
+        private Long errorId;
+
+        @Column(name = "job_id", nullable = false)
+        private long jobId;
+
+        // 1-based number of the data row, not counting the header
+        @Column(name = "row_no", nullable = false)
+        private long rowNumber;
+
+        @Column(name = "message", nullable = false, length = 1024)
+        private String message;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -18,6 +19,11 @@ import lombok.Setter;
 /**
  * Represents a membership for a student.
  * Each student has one membership and vice versa.
+ *
+ * The (expired, expiryDate) index lets the expiry sweeper seek directly to
+ * unexpired memberships past their expiry date in expiry order. The expiryDate and
+ * (membershipType, expiryDate) indexes serve expiry window range scans with and
+ * without a type filter.
  */
 
 @Getter
@@ -25,7 +31,12 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "membership")
+@Table(name = "membership",
+        indexes = {
+            @Index(name = "idx_membership_expired_expiry", columnList = "expired, expiryDate"),
+            @Index(name = "idx_membership_expiry", columnList = "expiryDate"),
+            @Index(name = "idx_membership_type_expiry", columnList = "membershipType, expiryDate")
+        })
 public class Membership {
 
         @Id
@@ -42,6 +53,10 @@ public class Membership {
         @Column(name = "membershipType", nullable = false) 
         private String membershipType;
 
+        // Set by the expiry sweeper once expiryDate has passed
+        @Column(name = "expired", nullable = false)
+        private boolean expired;
+
         /**
          * One membership can be assigned to one student only.
          * Cascade is set to ALL and fetch is EAGER to mimic lazy="false" with fetch="select"
@@ -3,7 +3,10 @@ package com.student.spring.entity;
 import java.sql.Date;
 import java.util.Set;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.student.spring.util.ContactKeys;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -12,12 +15,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -30,6 +35,11 @@ import lombok.Setter;
  *      a Membership, and a set of Activities. In addition, the student has personal details such as
  *      first name, last name, phone number, email, address, and date of birth. The age is computed
  *      based on the date of birth.
+ *
+ *      Updates are generated dynamically so that only modified columns appear in the UPDATE statement.
+ *
+ *      Normalized email and phone keys are kept alongside the raw values by their setters and
+ *      indexed, so that likely duplicate students can be found with an index lookup.
  */
 
 @Getter
@@ -37,7 +47,12 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "student")
+@DynamicUpdate
+@Table(name = "student",
+        indexes = {
+            @Index(name = "idx_student_email_key", columnList = "email_key"),
+            @Index(name = "idx_student_phone_key", columnList = "phone_key")
+        })
 public class Student{
 
         @Id
@@ -59,6 +74,18 @@ public class Student{
         @Column(name = "address", nullable = false)
         private String address;
 
+        @Column(name = "email_key")
+        @Setter(AccessLevel.NONE)
+        private String emailKey;
+
+        @Column(name = "phone_key")
+        @Setter(AccessLevel.NONE)
+        private String phoneKey;
+
+        // Set when the student was registered while students with the same email or phone existed
+        @Column(name = "possible_duplicate", nullable = false)
+        private boolean possibleDuplicate;
+
         @Column(name = "dob", nullable = false)
         @JsonFormat(pattern = "yyyy-MM-dd")
         private Date dob;
@@ -79,4 +106,14 @@ public class Student{
                 joinColumns = @JoinColumn(name = "student_id"),
                 inverseJoinColumns = @JoinColumn(name = "activity_id"))
 	private Set<Activity> activities;              
+
+        public void setPhoneNo(String phoneNo) {
+                this.phoneNo = phoneNo;
+                this.phoneKey = ContactKeys.phoneKey(phoneNo);
+        }
+
+        public void setEmail(String email) {
+                this.email = email;
+                this.emailKey = ContactKeys.emailKey(email);
+        }
 }
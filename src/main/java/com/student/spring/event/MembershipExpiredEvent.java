@@ -0,0 +1,16 @@
+package com.student.spring.event;
+
+import java.sql.Date;
+
+/**
+ * Application event published for each membership the expiry sweeper marks as expired.
+ *
+ * Listeners that must only observe committed changes should use
+ * {@code @TransactionalEventListener}; the event is published inside the chunk transaction.
+ *
+ * @param membershipId the ID of the expired membership
+ * @param membershipType the membership type (standard, premium or platinum)
+ * @param expiryDate the date on which the membership expired
+ */
+public record MembershipExpiredEvent(int membershipId, String membershipType, Date expiryDate) {
+}
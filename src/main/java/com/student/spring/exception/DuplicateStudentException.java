@@ -0,0 +1,31 @@
+package com.student.spring.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a student being registered has the same normalized email
+ * address or phone number as existing students.
+ */
+public class DuplicateStudentException extends StudentException {
+
+    private final List<Integer> duplicateStudentIds;
+
+    /**
+     * Constructor that accepts the IDs of the existing students that look like the same person.
+     *
+     * @param duplicateStudentIds the IDs of the matching students.
+     */
+    public DuplicateStudentException(List<Integer> duplicateStudentIds) {
+        super(ErrorCode.DUPLICATE_STUDENT, List.copyOf(duplicateStudentIds));
+        this.duplicateStudentIds = List.copyOf(duplicateStudentIds);
+    }
+
+    /**
+     * Getter method to retrieve the IDs of the matching students.
+     *
+     * @return the IDs of the existing students with the same email or phone number.
+     */
+    public List<Integer> getDuplicateStudentIds() {
+        return duplicateStudentIds;
+    }
+}
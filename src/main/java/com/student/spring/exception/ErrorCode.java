@@ -0,0 +1,102 @@
+package com.student.spring.exception;
+
+import java.util.ResourceBundle;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The errors the API reports, each with its HTTP status and the key of its message in
+ * messages.properties.
+ *
+ * Expected errors, such as a missing student or an invalid parameter, are part of normal
+ * traffic: they are raised without a stack trace and logged without one. The message is
+ * only rendered from the key and the arguments when it is needed, by a {@link MessagePattern}
+ * compiled once per code. Messages are read from the messages bundle in the default locale,
+ * as the MessageSource the controllers use resolves them.
+ */
+public enum ErrorCode {
+
+    STUDENT_NOT_FOUND(HttpStatus.NOT_FOUND, "student.notfound"),
+    GRADE_NOT_FOUND(HttpStatus.NOT_FOUND, "grade.notfound"),
+    MEMBERSHIP_NOT_FOUND(HttpStatus.NOT_FOUND, "membership.notfound"),
+    STUDENT_MEMBERSHIP_NOT_FOUND(HttpStatus.NOT_FOUND, "membership.studentnotfound"),
+    ACTIVITY_NOT_FOUND(HttpStatus.NOT_FOUND, "activity.notfound"),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "error.notfound"),
+    DUPLICATE_STUDENT(HttpStatus.CONFLICT, "student.duplicate"),
+    DUPLICATE_ACTIVITY(HttpStatus.CONFLICT, "activity.duplicate.name"),
+    DUPLICATE_ACTIVITY_SUFFIX(HttpStatus.CONFLICT, "activity.duplicate.name.suffix"),
+    CAPTURE_RUNNING(HttpStatus.CONFLICT, "profiling.running"),
+    DATA_CONFLICT(HttpStatus.CONFLICT, "error.conflict"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "error.validation.fields"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "error.invalid"),
+    INVALID_FIELDS(HttpStatus.BAD_REQUEST, "error.fields"),
+    INVALID_LIMIT(HttpStatus.BAD_REQUEST, "error.limit"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "error.cursor"),
+    TOO_MANY_IDS(HttpStatus.BAD_REQUEST, "error.ids.toomany"),
+    INVALID_MEMBERSHIP_TYPE(HttpStatus.BAD_REQUEST, "membership.invalidtype"),
+    INVALID_EXPIRY_WINDOW(HttpStatus.BAD_REQUEST, "membership.invalidwindow"),
+    NOT_READY(HttpStatus.SERVICE_UNAVAILABLE, "error.notready"),
+    INTERNAL(HttpStatus.INTERNAL_SERVER_ERROR, "error.internal", false);
+
+    private final HttpStatus status;
+
+    private final String messageKey;
+
+    private final boolean expected;
+
+    private MessagePattern message;
+
+    static {
+        ResourceBundle messages = ResourceBundle.getBundle("messages");
+        for (ErrorCode code : values()) {
+            code.message = new MessagePattern(messages.containsKey(code.messageKey) ? messages.getString(code.messageKey)
+                    : code.name());
+        }
+    }
+
+    ErrorCode(HttpStatus status, String messageKey) {
+        this(status, messageKey, true);
+    }
+
+    ErrorCode(HttpStatus status, String messageKey, boolean expected) {
+        this.status = status;
+        this.messageKey = messageKey;
+        this.expected = expected;
+    }
+
+    /**
+     * Getter method to retrieve the HTTP status the error is reported with.
+     *
+     * @return the HTTP status.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Getter method to retrieve the key of the message in messages.properties.
+     *
+     * @return the message key.
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    /**
+     * Tells whether the error is an expected outcome rather than a failure.
+     *
+     * @return true if the error is part of normal traffic, false if it needs investigating.
+     */
+    public boolean isExpected() {
+        return expected;
+    }
+
+    /**
+     * Renders the message of the error.
+     *
+     * @param args the arguments of the message, e.g. the ID that was not found.
+     * @return the message with the arguments filled in.
+     */
+    public String format(Object... args) {
+        return message.format(args);
+    }
+}
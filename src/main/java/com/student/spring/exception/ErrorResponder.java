@@ -0,0 +1,76 @@
+package com.student.spring.exception;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.student.spring.dto.ErrorResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Turns errors into responses, and the one place where they are logged.
+ *
+ * Expected errors are logged at debug level without a stack trace; failures are logged
+ * once with theirs, so the services and controllers rethrow and return them without
+ * logging them again. Every error is counted in app.errors, tagged with its code.
+ */
+@Component
+public class ErrorResponder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorResponder.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<ErrorCode, Counter> counters = new EnumMap<>(ErrorCode.class);
+
+    @PostConstruct
+    public void init() {
+        for (ErrorCode code : ErrorCode.values()) {
+            counters.put(code, Counter.builder("app.errors")
+                                      .tag("code", code.name())
+                                      .tag("status", Integer.toString(code.getStatus().value()))
+                                      .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Builds the response reporting the given exception.
+     *
+     * @param se the exception thrown by a service.
+     * @return a response with the status of its error code and an ErrorResponseDTO body.
+     */
+    public ResponseEntity<ErrorResponseDTO> respond(StudentException se) {
+        ErrorCode code = se.getCode();
+        counters.get(code).increment();
+        if (code.isExpected()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("{}: {}", code, se.getMessage());
+            }
+            return body(code, se.getMessage());
+        }
+        logger.error("Request failed", se);
+        return body(code, code.format());
+    }
+
+    /**
+     * Builds the response reporting an expected error found by a controller itself.
+     *
+     * @param code the error code.
+     * @param args the arguments of its message.
+     * @return a response with the status of the error code and an ErrorResponseDTO body.
+     */
+    public ResponseEntity<ErrorResponseDTO> respond(ErrorCode code, Object... args) {
+        return respond(new StudentException(code, args));
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> body(ErrorCode code, String message) {
+        return ResponseEntity.status(code.getStatus())
+                             .body(new ErrorResponseDTO(code.name(), code.getStatus().value(), message));
+    }
+}
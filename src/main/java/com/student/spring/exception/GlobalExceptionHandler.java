@@ -1,39 +1,35 @@
 package com.student.spring.exception;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import com.student.spring.dto.ErrorResponseDTO;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private ErrorResponder errorResponder;
+
     @ExceptionHandler(StudentException.class)
-    public ResponseEntity<Object> handleStudentException(StudentException se) {
-        return buildResponse(HttpStatus.BAD_REQUEST, se.getMessage());
+    public ResponseEntity<ErrorResponseDTO> handleStudentException(StudentException se) {
+        return errorResponder.respond(se);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException se) {
-        return buildResponse(HttpStatus.BAD_REQUEST, se.getMessage());
+    public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(IllegalArgumentException se) {
+        return errorResponder.respond(ErrorCode.INVALID_REQUEST, se.getMessage());
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleAllExceptions(Exception se) {
-        se.printStackTrace();
-        return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.");
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDataIntegrityViolation(DataIntegrityViolationException se) {
+        return errorResponder.respond(ErrorCode.DATA_CONFLICT, "Request");
     }
 
-    private ResponseEntity<Object> buildResponse(HttpStatus status, String message) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-
-        return new ResponseEntity<>(body, status);
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleAllExceptions(Exception se) {
+        return errorResponder.respond(new StudentException("Unhandled exception", se));
     }
 }
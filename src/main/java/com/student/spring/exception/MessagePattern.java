@@ -0,0 +1,118 @@
+package com.student.spring.exception;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A message pattern of messages.properties, compiled once.
+ *
+ * A pattern of text and plain {n} arguments is split into the text around its arguments,
+ * which are filled in with String.valueOf, so IDs are not grouped by thousands. Quotes are
+ * read as MessageFormat reads them. Any other pattern, such as one with {0,number}, is
+ * formatted by a MessageFormat instead, and one that is not a valid MessageFormat pattern
+ * is rendered as it is written, rather than failing wherever it is compiled.
+ */
+final class MessagePattern {
+
+    private static final Object[] NO_ARGS = {};
+
+    // The text around the arguments of the message, and the argument each gap takes
+    private final String[] text;
+
+    private final int[] argIndexes;
+
+    // Set, instead of text and argIndexes, for a pattern that is more than text and {n} arguments
+    private final MessageFormat messageFormat;
+
+    /**
+     * Constructor that compiles the given pattern.
+     *
+     * @param pattern the pattern, in MessageFormat syntax.
+     */
+    MessagePattern(String pattern) {
+        List<String> parts = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        boolean quoted = false;
+        boolean plain = true;
+        for (int i = 0; i < pattern.length() && plain; i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    part.append(c);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '{' && !quoted) {
+                int end = pattern.indexOf('}', i);
+                int index = end < 0 ? -1 : argumentIndex(pattern.substring(i + 1, end));
+                plain = index >= 0;
+                indexes.add(index);
+                parts.add(part.toString());
+                part.setLength(0);
+                i = end;
+            } else {
+                part.append(c);
+            }
+        }
+        parts.add(part.toString());
+
+        if (plain) {
+            this.text = parts.toArray(new String[0]);
+            this.argIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+            this.messageFormat = null;
+        } else {
+            this.text = new String[] {pattern};
+            this.argIndexes = new int[0];
+            this.messageFormat = messageFormat(pattern);
+        }
+    }
+
+    /**
+     * Renders the message.
+     *
+     * @param args the arguments of the message.
+     * @return the message with the arguments filled in; missing arguments are left as {n}.
+     */
+    String format(Object... args) {
+        if (messageFormat != null) {
+            // MessageFormat is not thread safe; patterns that need one are rare
+            synchronized (messageFormat) {
+                return messageFormat.format(args != null ? args : NO_ARGS);
+            }
+        }
+        if (argIndexes.length == 0) {
+            return text[0];
+        }
+        StringBuilder message = new StringBuilder(64).append(text[0]);
+        for (int i = 0; i < argIndexes.length; i++) {
+            int index = argIndexes[i];
+            message.append(args != null && index < args.length ? args[index] : "{" + index + "}").append(text[i + 1]);
+        }
+        return message.toString();
+    }
+
+    private static MessageFormat messageFormat(String pattern) {
+        try {
+            return new MessageFormat(pattern, Locale.getDefault());
+        } catch (IllegalArgumentException se) {
+            return null;
+        }
+    }
+
+    // The index of a plain {n} argument, or -1 for anything else, e.g. "0,number"
+    private static int argumentIndex(String argument) {
+        if (argument.isEmpty() || argument.length() > 2) {
+            return -1;
+        }
+        for (int i = 0; i < argument.length(); i++) {
+            if (argument.charAt(i) < '0' || argument.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(argument);
+    }
+}
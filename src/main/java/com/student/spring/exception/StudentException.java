@@ -1,16 +1,26 @@
 package com.student.spring.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
 /**
  * Exception class for handling student-related errors.
+ *
+ * An exception created from an {@link ErrorCode} of an expected outcome, such as a
+ * missing student, carries no stack trace and renders its message only when asked for
+ * it; the other constructors describe failures and behave as usual, reported as
+ * {@link ErrorCode#INTERNAL}.
  */
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
 public class StudentException extends Exception {
 
+    private static final Object[] NO_ARGS = {};
+
     private int id;
 
+    private final ErrorCode code;
+
+    // Null when the message was given instead of a code
+    private final Object[] args;
+
+    private String message;
+
     /**
      * Getter method to retrieve the ID associated with the exception.
      *
@@ -19,6 +29,54 @@ public class StudentException extends Exception {
     public int getId() { 
         return id;
     }
+
+    /**
+     * Getter method to retrieve the error code of the exception.
+     *
+     * @return the error code, {@link ErrorCode#INTERNAL} unless the exception was created from a code.
+     */
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    /**
+     * Getter method to retrieve the arguments of the message.
+     *
+     * @return the arguments the message is rendered with.
+     */
+    public Object[] getArgs() {
+        return args != null ? args.clone() : NO_ARGS;
+    }
+
+    /**
+     * Tells whether the exception reports an expected outcome rather than a failure.
+     *
+     * @return true if the error code is an expected one.
+     */
+    public boolean isExpected() {
+        return code.isExpected();
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = args != null ? code.format(args) : super.getMessage();
+        }
+        return message;
+    }
+
+    /**
+     * Constructor for an expected outcome. The exception is created without a stack trace
+     * or suppressed exceptions, and its message is rendered from the code when needed.
+     *
+     * @param code The error code.
+     * @param args The arguments of the message, e.g. the ID that was not found.
+     */
+    public StudentException(ErrorCode code, Object... args) {
+        super(null, null, false, false);
+        this.code = code;
+        this.args = args != null ? args : NO_ARGS;
+    }
     
     /**
      * Constructor that accepts a message as a parameter.
@@ -27,6 +85,8 @@ public class StudentException extends Exception {
      */
     public StudentException(String message) {
         super(message);
+        this.code = ErrorCode.INTERNAL;
+        this.args = null;
     }
 
     /**
@@ -34,10 +94,12 @@ public class StudentException extends Exception {
      * This is useful for exception chaining.
      *
      * @param message The detail message about the exception.
-     * @param e The cause of the exception (another exception).
+     * @param se The cause of the exception (another exception).
      */
-    public StudentException(String message, StudentException se) {
+    public StudentException(String message, Throwable se) {
         super(message, se);
+        this.code = ErrorCode.INTERNAL;
+        this.args = null;
     }
 
     /**
@@ -47,6 +109,8 @@ public class StudentException extends Exception {
      */
     public StudentException(Exception se) {
         super(se);
+        this.code = ErrorCode.INTERNAL;
+        this.args = null;
     }
 
     /**
@@ -59,5 +123,7 @@ public class StudentException extends Exception {
     public StudentException(String message, int id) {
         super(message);
         this.id = id;
+        this.code = ErrorCode.INTERNAL;
+        this.args = null;
     }
 }
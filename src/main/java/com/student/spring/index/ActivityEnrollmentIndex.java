@@ -0,0 +1,186 @@
+package com.student.spring.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.student.spring.repository.ActivityRepository;
+
+/**
+ * In-memory index of activity enrollments, mapping each activity ID to a compressed
+ * (Roaring) bitmap of the IDs of the students enrolled in it.
+ *
+ * The index is built from student_activity once the application is ready and is kept
+ * current by the enrollment write paths, which apply their changes after the surrounding
+ * transaction commits. Changes made while a rebuild is running are replayed onto the
+ * rebuilt bitmaps before they are published (see {@link RebuildableIndex}). The index is
+ * also rebuilt periodically, which repairs any drift from writes that bypass those paths.
+ * Writes hold the write lock for only a handful of bitmap operations.
+ */
+@Component
+public class ActivityEnrollmentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityEnrollmentIndex.class);
+
+    private final RebuildableIndex<Map<Integer, RoaringBitmap>> studentsByActivity = new RebuildableIndex<>(new HashMap<>());
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Value("${activity.index.build-page-size:10000}")
+    private int buildPageSize;
+
+    /**
+     * Rebuilds the index from the activity and student_activity tables, reading the
+     * join table in keyset pages so the build never holds a long-running cursor.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${activity.index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${activity.index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        studentsByActivity.startRebuild();
+
+        long start = System.nanoTime();
+        Map<Integer, RoaringBitmap> rebuilt = new HashMap<>();
+        try {
+            activityRepository.findAllActivityIds().forEach(activityId -> rebuilt.put(activityId, new RoaringBitmap()));
+
+            int afterStudentId = Integer.MIN_VALUE;
+            int afterActivityId = Integer.MIN_VALUE;
+            long rows = 0;
+            List<Object[]> page;
+            do {
+                page = activityRepository.findEnrollmentsAfter(afterStudentId, afterActivityId, buildPageSize);
+                for (Object[] row : page) {
+                    afterStudentId = ((Number) row[0]).intValue();
+                    afterActivityId = ((Number) row[1]).intValue();
+                    rebuilt.computeIfAbsent(afterActivityId, id -> new RoaringBitmap()).add(afterStudentId);
+                }
+                rows += page.size();
+            } while (page.size() == buildPageSize);
+            rebuilt.values().forEach(RoaringBitmap::runOptimize);
+
+            studentsByActivity.publish(rebuilt);
+            logger.info("Activity enrollment index built: {} activities, {} enrollments in {} ms",
+                    rebuilt.size(), rows, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception se) {
+            studentsByActivity.cancelRebuild();
+            logger.error("Error building activity enrollment index", se);
+        }
+    }
+
+    /**
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        return studentsByActivity.isReady();
+    }
+
+    /**
+     * Replaces the set of activities a student is enrolled in.
+     *
+     * @param studentId the student ID
+     * @param activityIds the IDs of all activities the student is now enrolled in
+     */
+    public void setEnrollments(int studentId, Collection<Integer> activityIds) {
+        Set<Integer> ids = activityIds == null ? Set.of() : Set.copyOf(activityIds);
+        studentsByActivity.afterCommit(index -> {
+            index.forEach((activityId, students) -> {
+                if (!ids.contains(activityId)) {
+                    students.remove(studentId);
+                }
+            });
+            ids.forEach(activityId -> index.computeIfAbsent(activityId, id -> new RoaringBitmap()).add(studentId));
+        });
+    }
+
+    /**
+     * Removes a student from every activity.
+     *
+     * @param studentId the student ID
+     */
+    public void removeStudent(int studentId) {
+        studentsByActivity.afterCommit(index -> index.values().forEach(students -> students.remove(studentId)));
+    }
+
+    /**
+     * Registers a new activity with no enrollments.
+     *
+     * @param activityId the activity ID
+     */
+    public void addActivity(int activityId) {
+        studentsByActivity.afterCommit(index -> index.putIfAbsent(activityId, new RoaringBitmap()));
+    }
+
+    /**
+     * Drops an activity and its enrollments.
+     *
+     * @param activityId the activity ID
+     */
+    public void removeActivity(int activityId) {
+        studentsByActivity.afterCommit(index -> index.remove(activityId));
+    }
+
+    /**
+     * Evaluates (AND of {@code all}) AND (OR of {@code any}) AND NOT (OR of {@code none}).
+     * When neither {@code all} nor {@code any} is given, the query starts from every
+     * student enrolled in at least one activity.
+     *
+     * @param all activity IDs the students must all be enrolled in
+     * @param any activity IDs of which the students must be enrolled in at least one
+     * @param none activity IDs the students must not be enrolled in
+     * @return a new bitmap of the matching student IDs
+     */
+    public RoaringBitmap query(Collection<Integer> all, Collection<Integer> any, Collection<Integer> none) {
+        return studentsByActivity.read(index -> {
+            RoaringBitmap result = null;
+            for (Integer activityId : all) {
+                RoaringBitmap students = bitmapOf(index, activityId);
+                if (result == null) {
+                    result = students.clone();
+                } else {
+                    result.and(students);
+                }
+            }
+            if (!any.isEmpty()) {
+                RoaringBitmap union = FastAggregation.or(any.stream().map(id -> bitmapOf(index, id)).iterator());
+                result = result == null ? union : RoaringBitmap.and(result, union);
+            }
+            if (result == null) {
+                result = FastAggregation.or(index.values().iterator());
+            }
+            for (Integer activityId : none) {
+                result.andNot(bitmapOf(index, activityId));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @return the number of enrolled students per activity ID, ordered by activity ID
+     */
+    public Map<Integer, Long> counts() {
+        return studentsByActivity.read(index -> {
+            Map<Integer, Long> counts = new TreeMap<>();
+            index.forEach((activityId, students) -> counts.put(activityId, students.getLongCardinality()));
+            return counts;
+        });
+    }
+
+    private static RoaringBitmap bitmapOf(Map<Integer, RoaringBitmap> index, Integer activityId) {
+        RoaringBitmap students = index.get(activityId);
+        return students != null ? students : new RoaringBitmap();
+    }
+}
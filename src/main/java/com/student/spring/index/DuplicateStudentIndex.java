@@ -0,0 +1,231 @@
+package com.student.spring.index;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.student.spring.entity.Student;
+import com.student.spring.exception.DuplicateStudentException;
+import com.student.spring.repository.StudentRepository;
+import com.student.spring.util.ContactKeys;
+import com.student.spring.util.TransactionUtil;
+
+/**
+ * Detects likely duplicate students by their normalized email and phone keys.
+ *
+ * An in-memory Bloom filter of every key answers most checks for a new person without
+ * touching the database; only when a key may already exist are the indexed email_key and
+ * phone_key columns queried. Keys are added once the saving transaction commits; until
+ * then that transaction keeps them in a set of its own, so a second student with the same
+ * contacts saved in the same transaction, such as another row of an import chunk, is
+ * still checked against the database. The filter cannot forget keys, so updated or
+ * deleted students only raise the false positive rate until the next restart. Two
+ * registrations of the same person running concurrently can both pass the check.
+ */
+@Component
+public class DuplicateStudentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateStudentIndex.class);
+
+    private static final String EMAIL_PREFIX = "e:";
+
+    private static final String PHONE_PREFIX = "p:";
+
+    /**
+     * What to do when a registration matches existing students.
+     */
+    public enum Mode {
+        /** Refuse the registration. Siblings sharing a phone number are refused too. */
+        REJECT,
+        /** Save the student with its possibleDuplicate flag set. */
+        FLAG,
+        /** Do not check for duplicates. */
+        OFF
+    }
+
+    private volatile BloomFilter filter;
+
+    private volatile BloomFilter building;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${student.duplicates.mode:flag}")
+    private Mode mode;
+
+    @Value("${student.duplicates.expected-students:1000000}")
+    private long expectedStudents;
+
+    @Value("${student.duplicates.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${student.duplicates.build-page-size:10000}")
+    private int buildPageSize;
+
+    /**
+     * Fills in the contact keys of students saved before they existed, then builds the
+     * Bloom filter from the keys of every student.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long backfilled = backfillContactKeys();
+
+            BloomFilter rebuilt = new BloomFilter(expectedStudents * 2, falsePositiveRate);
+            building = rebuilt;
+            int afterId = Integer.MIN_VALUE;
+            long students = 0;
+            List<Object[]> page;
+            do {
+                page = studentRepository.findContactKeysAfter(afterId, PageRequest.of(0, buildPageSize));
+                for (Object[] row : page) {
+                    afterId = (Integer) row[0];
+                    addKeys(rebuilt::add, (String) row[1], (String) row[2]);
+                }
+                students += page.size();
+            } while (page.size() == buildPageSize);
+            filter = rebuilt;
+            logger.info("Duplicate student filter built: {} students ({} backfilled) in {} ms",
+                    students, backfilled, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception se) {
+            logger.error("Error building duplicate student filter", se);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Checks a student about to be registered against the existing students. In reject
+     * mode a match fails the registration; in flag mode the student is marked as a
+     * possible duplicate and saved as usual.
+     *
+     * @param student the student to check, with its contact details set
+     * @throws DuplicateStudentException in reject mode, if existing students have the same email or phone
+     */
+    public void check(Student student) throws DuplicateStudentException {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        List<Integer> duplicateIds = findPossibleDuplicates(student.getEmailKey(), student.getPhoneKey(),
+                student.getStudentId());
+        if (duplicateIds.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.REJECT) {
+            throw new DuplicateStudentException(duplicateIds);
+        }
+        logger.warn("Registering student flagged as a possible duplicate of {}", duplicateIds);
+        student.setPossibleDuplicate(true);
+    }
+
+    /**
+     * Records the contact keys of a saved student once the current transaction commits, or
+     * immediately outside a transaction.
+     *
+     * @param student the saved student
+     */
+    public void add(Student student) {
+        String emailKey = student.getEmailKey();
+        String phoneKey = student.getPhoneKey();
+        Set<String> pending = pendingKeys(true);
+        if (pending != null) {
+            addKeys(pending::add, emailKey, phoneKey);
+        }
+        TransactionUtil.afterCommit(() -> {
+            BloomFilter current = filter;
+            if (current != null) {
+                addKeys(current::add, emailKey, phoneKey);
+            }
+            BloomFilter next = building;
+            if (next != null) {
+                addKeys(next::add, emailKey, phoneKey);
+            }
+        });
+    }
+
+    private List<Integer> findPossibleDuplicates(String emailKey, String phoneKey, int excludeStudentId) {
+        BloomFilter current = filter;
+        Set<String> pending = pendingKeys(false);
+        boolean emailMayExist = emailKey != null && mayExist(current, pending, EMAIL_PREFIX + emailKey);
+        boolean phoneMayExist = phoneKey != null && mayExist(current, pending, PHONE_PREFIX + phoneKey);
+        if (!emailMayExist && !phoneMayExist) {
+            return List.of();
+        }
+        return studentRepository.findIdsByContactKeys(emailMayExist ? emailKey : null, phoneMayExist ? phoneKey : null)
+                                .stream()
+                                .filter(studentId -> studentId != excludeStudentId)
+                                .collect(Collectors.toList());
+    }
+
+    private static boolean mayExist(BloomFilter current, Set<String> pending, String key) {
+        return current == null || current.mightContain(key) || (pending != null && pending.contains(key));
+    }
+
+    // The keys added by the current transaction, which the filter learns only once it commits.
+    // Returns null outside a transaction, or if create is false and none were added yet.
+    @SuppressWarnings("unchecked")
+    private Set<String> pendingKeys(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<String> keys = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (keys == null && create) {
+            keys = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DuplicateStudentIndex.this);
+                }
+            });
+        }
+        return keys;
+    }
+
+    private long backfillContactKeys() {
+        int afterId = Integer.MIN_VALUE;
+        long backfilled = 0;
+        List<Object[]> page;
+        do {
+            page = studentRepository.findContactsWithoutKeysAfter(afterId, PageRequest.of(0, buildPageSize));
+            if (!page.isEmpty()) {
+                List<Object[]> keys = page.stream()
+                                          .map(row -> new Object[] {ContactKeys.emailKey((String) row[1]),
+                                                  ContactKeys.phoneKey((String) row[2]), row[0]})
+                                          .collect(Collectors.toList());
+                jdbcTemplate.batchUpdate("update student set email_key = ?, phone_key = ? where student_id = ?", keys);
+                afterId = (Integer) page.get(page.size() - 1)[0];
+                backfilled += page.size();
+            }
+        } while (page.size() == buildPageSize);
+        return backfilled;
+    }
+
+    private static void addKeys(Consumer<String> keys, String emailKey, String phoneKey) {
+        if (emailKey != null) {
+            keys.accept(EMAIL_PREFIX + emailKey);
+        }
+        if (phoneKey != null) {
+            keys.accept(PHONE_PREFIX + phoneKey);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.student.spring.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import com.student.spring.util.TransactionUtil;
+
+/**
+ * Holds the current state of an in-memory index that is built from the database and kept
+ * current by the write paths.
+ *
+ * Mutations are applied once the surrounding transaction commits. While a rebuild is
+ * running they are applied to the current state and also recorded, then replayed onto the
+ * rebuilt state before it is published, so no change made during the build is lost. Reads
+ * share a read lock; mutations and publishing take the write lock.
+ *
+ * @param <T> the type of the index state
+ */
+final class RebuildableIndex<T> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private T current;
+
+    private List<Consumer<T>> pendingDuringRebuild;
+
+    private volatile boolean ready;
+
+    /**
+     * Constructor that starts from an empty state, which is served until the first build is published.
+     *
+     * @param empty the empty state
+     */
+    RebuildableIndex(T empty) {
+        this.current = empty;
+    }
+
+    /**
+     * Starts recording mutations for replay onto the state being rebuilt.
+     */
+    void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the mutations recorded since {@link #startRebuild()} onto the rebuilt state and
+     * makes it the current one.
+     *
+     * @param rebuilt the state read from the database
+     */
+    void publish(T rebuilt) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(mutation -> mutation.accept(rebuilt));
+            pendingDuringRebuild = null;
+            current = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops recording mutations after a failed rebuild; the current state stays in place.
+     */
+    void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true once the first build has been published
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a mutation once the current transaction commits, or immediately outside a transaction.
+     *
+     * @param mutation the change to the index state
+     */
+    void afterCommit(Consumer<T> mutation) {
+        TransactionUtil.afterCommit(() -> apply(mutation));
+    }
+
+    /**
+     * Reads the current state under the read lock.
+     *
+     * @param reader the read, which must not keep references to the state
+     * @param <R> the result type
+     * @return the result of the read
+     */
+    <R> R read(Function<T, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<T> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(current);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
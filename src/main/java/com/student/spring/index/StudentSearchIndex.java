@@ -0,0 +1,397 @@
+package com.student.spring.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import com.student.spring.entity.Student;
+import com.student.spring.repository.StudentRepository;
+
+/**
+ * In-memory inverted index over student first name, last name, email and phone number.
+ *
+ * Field values are split into lower-cased, accent-folded terms; phone numbers are indexed
+ * both by their digit groups and by all of their digits. The term dictionary is kept sorted,
+ * so every term starting with a query prefix is one contiguous range of it, and each term
+ * maps to one Roaring bitmap of student IDs per field.
+ *
+ * The index is built at startup by several threads, each reading one student ID range in
+ * keyset pages, and is kept current by the student write paths after their transaction
+ * commits. Changes made while a rebuild is running are replayed onto the rebuilt index
+ * (see {@link RebuildableIndex}).
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    // Ranking weight of a match in each field; indexes match the FIELD_* constants.
+    private static final int[] FIELD_WEIGHTS = {3, 4, 2, 2};
+
+    private static final int FIELD_FIRST_NAME = 0;
+    private static final int FIELD_LAST_NAME = 1;
+    private static final int FIELD_EMAIL = 2;
+    private static final int FIELD_PHONE = 3;
+
+    private final RebuildableIndex<Segment> index = new RebuildableIndex<>(new Segment());
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${student.search.build-page-size:10000}")
+    private int buildPageSize;
+
+    @Value("${student.search.build-threads:0}")
+    private int buildThreads;
+
+    /**
+     * Matching students for a search: the total number of matches and the IDs of the
+     * best ranked ones, best first.
+     */
+    public record Matches(long total, List<Integer> studentIds) {
+    }
+
+    /**
+     * Rebuilds the index from the student table. The student ID space is split into one
+     * range per build thread; the partial indexes are merged once every range is read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.startRebuild();
+
+        long start = System.nanoTime();
+        int threads = buildThreads > 0 ? buildThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Integer maxStudentId = studentRepository.findMaxStudentId();
+            int max = maxStudentId != null ? maxStudentId : 0;
+            int sliceSize = Math.max(max / threads + 1, 1);
+
+            List<Future<Segment>> slices = new ArrayList<>();
+            for (long from = 0; from <= max; from += sliceSize) {
+                int afterId = (int) from - 1;
+                int toId = (int) Math.min(from + sliceSize - 1, max);
+                slices.add(executor.submit(() -> buildSlice(afterId, toId)));
+            }
+            Segment rebuilt = new Segment();
+            for (Future<Segment> slice : slices) {
+                rebuilt.merge(slice.get());
+            }
+            rebuilt.optimize();
+
+            index.publish(rebuilt);
+            logger.info("Student search index built: {} students, {} terms in {} ms using {} threads",
+                    rebuilt.termsByStudent.size(), rebuilt.terms.size(), (System.nanoTime() - start) / 1_000_000,
+                    threads);
+        } catch (Exception se) {
+            index.cancelRebuild();
+            logger.error("Error building student search index", se);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    /**
+     * Adds a student to the index, replacing any previously indexed values.
+     *
+     * @param student the saved student
+     */
+    public void put(Student student) {
+        int studentId = student.getStudentId();
+        String firstName = student.getFirstName();
+        String lastName = student.getLastName();
+        String email = student.getEmail();
+        String phoneNo = student.getPhoneNo();
+        index.afterCommit(segment -> segment.put(studentId, firstName, lastName, email, phoneNo));
+    }
+
+    /**
+     * Removes a student from the index.
+     *
+     * @param studentId the student ID
+     */
+    public void remove(int studentId) {
+        index.afterCommit(segment -> segment.remove(studentId));
+    }
+
+    /**
+     * Splits text into search terms the same way field values are split when indexed.
+     *
+     * @param text the text to split
+     * @return the distinct terms, in order of first occurrence
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text != null) {
+            String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+            for (String token : NON_ALPHANUMERIC.split(folded.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Finds the students matching every query term, where a term matches any indexed term
+     * it is a prefix of. Students are ranked by the number of terms they match exactly,
+     * then by the weight of the fields matched (last name, first name, then email and
+     * phone), then by ascending ID. When at least {@code limit} students match every term
+     * exactly, only those are ranked.
+     *
+     * @param queryTerms the terms, as returned by {@link #tokenize(String)}
+     * @param limit the maximum number of student IDs to return
+     * @return the number of matching students and the IDs of the best ranked ones
+     */
+    public Matches search(List<String> queryTerms, int limit) {
+        return index.read(segment -> {
+            int termCount = queryTerms.size();
+            RoaringBitmap[][] exact = new RoaringBitmap[termCount][];
+            RoaringBitmap[][] prefix = new RoaringBitmap[termCount][];
+            RoaringBitmap candidates = null;
+            RoaringBitmap exactCandidates = null;
+            for (int i = 0; i < termCount; i++) {
+                exact[i] = segment.exactMatches(queryTerms.get(i));
+                prefix[i] = segment.prefixMatches(queryTerms.get(i));
+                candidates = intersect(candidates, FastAggregation.or(prefix[i]));
+                exactCandidates = intersect(exactCandidates, FastAggregation.or(exact[i]));
+                if (candidates.isEmpty()) {
+                    return new Matches(0, List.of());
+                }
+            }
+            if (candidates == null) {
+                return new Matches(0, List.of());
+            }
+
+            RoaringBitmap ranked = exactCandidates.getLongCardinality() >= limit ? exactCandidates : candidates;
+            return new Matches(candidates.getLongCardinality(), topRanked(ranked, exact, prefix, limit));
+        });
+    }
+
+    private List<Integer> topRanked(RoaringBitmap ranked, RoaringBitmap[][] exact, RoaringBitmap[][] prefix,
+                                    int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Each entry packs (score, -studentId) into one long, so a larger value ranks higher.
+        PriorityQueue<Long> best = new PriorityQueue<>(limit + 1);
+        IntIterator students = ranked.getIntIterator();
+        while (students.hasNext()) {
+            int studentId = students.next();
+            long rank = ((long) score(studentId, exact, prefix) << 32) | (Integer.MAX_VALUE - studentId);
+            if (best.size() < limit) {
+                best.add(rank);
+            } else if (rank > best.peek()) {
+                best.poll();
+                best.add(rank);
+            }
+        }
+        Integer[] studentIds = new Integer[best.size()];
+        for (int i = studentIds.length - 1; i >= 0; i--) {
+            studentIds[i] = Integer.MAX_VALUE - (int) (best.poll() & 0xFFFFFFFFL);
+        }
+        return Arrays.asList(studentIds);
+    }
+
+    private static int score(int studentId, RoaringBitmap[][] exact, RoaringBitmap[][] prefix) {
+        int exactTerms = 0;
+        int fieldWeight = 0;
+        for (int i = 0; i < prefix.length; i++) {
+            int termWeight = 0;
+            boolean exactTerm = false;
+            for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                if (prefix[i][field].contains(studentId)) {
+                    termWeight = Math.max(termWeight, FIELD_WEIGHTS[field]);
+                    exactTerm |= exact[i][field].contains(studentId);
+                }
+            }
+            fieldWeight += termWeight;
+            if (exactTerm) {
+                exactTerms++;
+            }
+        }
+        return exactTerms * 1000 + fieldWeight;
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap accumulated, RoaringBitmap bitmap) {
+        if (accumulated == null) {
+            return bitmap;
+        }
+        accumulated.and(bitmap);
+        return accumulated;
+    }
+
+    private Segment buildSlice(int afterId, int toId) {
+        Segment segment = new Segment();
+        List<Object[]> page;
+        do {
+            page = studentRepository.findSearchFieldsBetween(afterId, toId, PageRequest.of(0, buildPageSize));
+            for (Object[] row : page) {
+                afterId = (Integer) row[0];
+                segment.put(afterId, (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+            }
+        } while (page.size() == buildPageSize);
+        return segment;
+    }
+
+    /**
+     * Student IDs containing one term, per field.
+     */
+    private static final class Postings {
+
+        private final String term;
+
+        private final RoaringBitmap[] byField = new RoaringBitmap[FIELD_WEIGHTS.length];
+
+        private Postings(String term) {
+            this.term = term;
+            for (int field = 0; field < byField.length; field++) {
+                byField[field] = new RoaringBitmap();
+            }
+        }
+
+        private boolean isEmpty() {
+            for (RoaringBitmap students : byField) {
+                if (!students.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The sorted term dictionary and, for removals, the terms indexed for each student.
+     */
+    private static final class Segment {
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+        private final Map<Integer, String[]> termsByStudent = new HashMap<>();
+
+        private void put(int studentId, String firstName, String lastName, String email, String phoneNo) {
+            remove(studentId);
+            Set<String> studentTerms = new LinkedHashSet<>();
+            add(studentId, FIELD_FIRST_NAME, tokenize(firstName), studentTerms);
+            add(studentId, FIELD_LAST_NAME, tokenize(lastName), studentTerms);
+            add(studentId, FIELD_EMAIL, tokenize(email), studentTerms);
+            add(studentId, FIELD_PHONE, phoneTerms(phoneNo), studentTerms);
+            termsByStudent.put(studentId, studentTerms.toArray(new String[0]));
+        }
+
+        private void add(int studentId, int field, List<String> tokens, Set<String> studentTerms) {
+            for (String token : tokens) {
+                Postings postings = terms.computeIfAbsent(token, Postings::new);
+                postings.byField[field].add(studentId);
+                studentTerms.add(postings.term);
+            }
+        }
+
+        private void remove(int studentId) {
+            String[] studentTerms = termsByStudent.remove(studentId);
+            if (studentTerms == null) {
+                return;
+            }
+            for (String term : studentTerms) {
+                Postings postings = terms.get(term);
+                if (postings != null) {
+                    for (RoaringBitmap students : postings.byField) {
+                        students.remove(studentId);
+                    }
+                    if (postings.isEmpty()) {
+                        terms.remove(term);
+                    }
+                }
+            }
+        }
+
+        private void merge(Segment other) {
+            other.terms.forEach((term, postings) -> {
+                Postings merged = terms.putIfAbsent(term, postings);
+                if (merged != null) {
+                    for (int field = 0; field < merged.byField.length; field++) {
+                        merged.byField[field].or(postings.byField[field]);
+                    }
+                }
+            });
+            termsByStudent.putAll(other.termsByStudent);
+        }
+
+        private void optimize() {
+            terms.values().forEach(postings -> Arrays.stream(postings.byField).forEach(RoaringBitmap::runOptimize));
+        }
+
+        private RoaringBitmap[] exactMatches(String term) {
+            Postings postings = terms.get(term);
+            RoaringBitmap[] matches = new RoaringBitmap[FIELD_WEIGHTS.length];
+            for (int field = 0; field < matches.length; field++) {
+                matches[field] = postings != null ? postings.byField[field] : new RoaringBitmap();
+            }
+            return matches;
+        }
+
+        private RoaringBitmap[] prefixMatches(String prefix) {
+            List<List<RoaringBitmap>> perField = new ArrayList<>();
+            for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                perField.add(new ArrayList<>());
+            }
+            for (Postings postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                    if (!postings.byField[field].isEmpty()) {
+                        perField.get(field).add(postings.byField[field]);
+                    }
+                }
+            }
+            RoaringBitmap[] matches = new RoaringBitmap[FIELD_WEIGHTS.length];
+            for (int field = 0; field < matches.length; field++) {
+                matches[field] = FastAggregation.or(perField.get(field).iterator());
+            }
+            return matches;
+        }
+
+        private static List<String> phoneTerms(String phoneNo) {
+            List<String> phoneTerms = tokenize(phoneNo);
+            String digits = phoneNo == null ? "" : NON_DIGITS.matcher(phoneNo).replaceAll("");
+            if (!digits.isEmpty() && !phoneTerms.contains(digits)) {
+                phoneTerms.add(digits);
+            }
+            return phoneTerms;
+        }
+    }
+}
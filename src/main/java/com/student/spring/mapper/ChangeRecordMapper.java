@@ -0,0 +1,21 @@
+package com.student.spring.mapper;
+
+import com.student.spring.dto.ChangeRecordDTO;
+import com.student.spring.entity.ChangeRecord;
+
+public class ChangeRecordMapper {
+
+    public static ChangeRecordDTO toDTO(ChangeRecord record) {
+        if (record == null) {
+            return null;
+        }
+        ChangeRecordDTO dto = new ChangeRecordDTO();
+        dto.setSequence(record.getPosition());
+        dto.setEntityType(record.getEntityType());
+        dto.setEntityId(record.getEntityId());
+        dto.setOperation(record.getOperation().name());
+        dto.setPayload(record.getPayload());
+        dto.setCreatedAt(record.getCreatedAt());
+        return dto;
+    }
+}
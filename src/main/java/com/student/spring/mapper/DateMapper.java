@@ -0,0 +1,18 @@
+package com.student.spring.mapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Converts between the java.sql.Date columns of the entities and the LocalDate fields of the DTOs.
+ */
+public class DateMapper {
+
+    public static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    public static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.student.spring.mapper;
+
+import java.util.List;
+import com.student.spring.dto.ExportJobDTO;
+import com.student.spring.dto.ExportPartDTO;
+import com.student.spring.entity.ExportJob;
+
+public class ExportJobMapper {
+
+    public static ExportJobDTO toDTO(ExportJob job, List<ExportPartDTO> parts) {
+        if (job == null) {
+            return null;
+        }
+        ExportJobDTO dto = new ExportJobDTO();
+        dto.setJobId(job.getJobId());
+        dto.setStatus(job.getStatus().name());
+        dto.setTotalRows(job.getTotalRows());
+        dto.setMessage(job.getMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setSnapshotAt(job.getSnapshotAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setParts(parts);
+        return dto;
+    }
+}
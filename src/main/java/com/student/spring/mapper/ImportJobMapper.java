@@ -0,0 +1,33 @@
+package com.student.spring.mapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import com.student.spring.dto.ImportJobDTO;
+import com.student.spring.dto.ImportRowErrorDTO;
+import com.student.spring.entity.ImportJob;
+import com.student.spring.entity.ImportRowError;
+
+public class ImportJobMapper {
+
+    public static ImportJobDTO toDTO(ImportJob job, List<ImportRowError> errors) {
+        if (job == null) {
+            return null;
+        }
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(job.getJobId());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus().name());
+        dto.setTotalRows(job.getTotalRows());
+        dto.setProcessedRows(job.getProcessedRows());
+        dto.setImportedRows(job.getImportedRows());
+        dto.setFailedRows(job.getFailedRows());
+        dto.setMessage(job.getMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setErrors(errors.stream()
+                            .map(error -> new ImportRowErrorDTO(error.getRowNumber(), error.getMessage()))
+                            .collect(Collectors.toList()));
+        return dto;
+    }
+}
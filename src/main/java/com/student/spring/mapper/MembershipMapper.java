@@ -11,9 +11,10 @@ public class MembershipMapper {
         }
         MembershipDTO dto = new MembershipDTO();
         dto.setMembershipId(membership.getMembershipId());
-        dto.setStartDate(membership.getStartDate());
-        dto.setExpiryDate(membership.getExpiryDate());
+        dto.setStartDate(DateMapper.toLocalDate(membership.getStartDate()));
+        dto.setExpiryDate(DateMapper.toLocalDate(membership.getExpiryDate()));
         dto.setMembershipType(membership.getMembershipType());
+        dto.setExpired(membership.isExpired());
         return dto;
     }
 
@@ -23,9 +24,10 @@ public class MembershipMapper {
         }
         Membership membership = new Membership();
         membership.setMembershipId(dto.getMembershipId());
-        membership.setStartDate(dto.getStartDate());
-        membership.setExpiryDate(dto.getExpiryDate());
+        membership.setStartDate(DateMapper.toSqlDate(dto.getStartDate()));
+        membership.setExpiryDate(DateMapper.toSqlDate(dto.getExpiryDate()));
         membership.setMembershipType(dto.getMembershipType());
+        membership.setExpired(dto.isExpired());
         return membership;
     }
 }
@@ -1,10 +1,12 @@
 package com.student.spring.mapper;
 
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.student.spring.dto.ActivityDTO;
 import com.student.spring.dto.StudentDTO;
+import com.student.spring.dto.StudentInputDTO;
 import com.student.spring.entity.Activity;
 import com.student.spring.entity.Student;
 
@@ -21,10 +23,11 @@ public class StudentMapper {
         dto.setPhone(student.getPhoneNo());
         dto.setEmail(student.getEmail());
         dto.setAddress(student.getAddress());
-        dto.setDob(student.getDob());
+        dto.setDob(DateMapper.toLocalDate(student.getDob()));
         dto.setMembership(MembershipMapper.toDTO(student.getMembership()));
         dto.setGrade(GradeMapper.toDTO(student.getGrade()));
         dto.setActivities(toDTOSet(student.getActivities()));
+        dto.setPossibleDuplicate(student.isPossibleDuplicate());
         return dto;
     }
 
@@ -39,13 +42,33 @@ public class StudentMapper {
         student.setPhoneNo(dto.getPhone());
         student.setEmail(dto.getEmail());
         student.setAddress(dto.getAddress());
-        student.setDob(dto.getDob());
+        student.setDob(DateMapper.toSqlDate(dto.getDob()));
         student.setMembership(MembershipMapper.toEntity(dto.getMembership()));
         student.setGrade(GradeMapper.toEntity(dto.getGrade()));
         student.setActivities(toEntitySet(dto.getActivities()));
         return student;
     }
 
+    public static StudentInputDTO toInputDTO(Student student) {
+        if (student == null) {
+            return null;
+        }
+        StudentInputDTO dto = new StudentInputDTO();
+        dto.setFirstName(student.getFirstName());
+        dto.setLastName(student.getLastName());
+        dto.setPhoneNo(student.getPhoneNo());
+        dto.setEmail(student.getEmail());
+        dto.setAddress(student.getAddress());
+        dto.setDob(DateMapper.toLocalDate(student.getDob()));
+        dto.setGradeId(student.getGrade() != null ? student.getGrade().getGradeId() : null);
+        dto.setMembershipId(student.getMembership() != null ? student.getMembership().getMembershipId() : null);
+        dto.setActivityIds(student.getActivities() == null ? new HashSet<>()
+                : student.getActivities().stream()
+                         .map(Activity::getActivityId)
+                         .collect(Collectors.toCollection(HashSet::new)));
+        return dto;
+    }
+
     private static Set<ActivityDTO> toDTOSet(Set<Activity> activities) {
         if (activities == null) {
             return null;
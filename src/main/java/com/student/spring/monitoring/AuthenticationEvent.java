@@ -0,0 +1,27 @@
+package com.student.spring.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning the validation of a bearer token and the lookup of its user.
+ */
+@Name("com.student.spring.Authentication")
+@Label("Token Authentication")
+@Category({"Student Management", "Security"})
+@Description("Validation of a JWT bearer token and lookup of its user")
+@StackTrace(false)
+@Threshold("1 ms")
+public class AuthenticationEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+}
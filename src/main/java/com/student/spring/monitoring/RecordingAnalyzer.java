@@ -0,0 +1,134 @@
+package com.student.spring.monitoring;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import com.student.spring.dto.OperationTimingDTO;
+import com.student.spring.dto.ProfileEntryDTO;
+import com.student.spring.dto.ProfilingSummaryDTO;
+
+/**
+ * Summarizes a JFR recording into hot method and allocation reports.
+ *
+ * The recording is read once, one event at a time: execution samples are counted by their
+ * top frame and by their innermost application frame, allocation samples are weighted by
+ * the bytes they stand for and grouped by type and by allocating method, and the
+ * application's service operation events are grouped by operation.
+ */
+public final class RecordingAnalyzer {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    private static final String SERVICE_OPERATION = "com.student.spring.ServiceOperation";
+
+    private static final String APPLICATION_PACKAGE = "com.student.spring.";
+
+    private static final String UNKNOWN = "<unknown>";
+
+    private RecordingAnalyzer() {
+    }
+
+    /**
+     * Summarizes a recording.
+     *
+     * @param recording the JFR file
+     * @param limit the number of entries in each top list
+     * @return the summary
+     * @throws IOException if the recording cannot be read
+     */
+    public static ProfilingSummaryDTO summarize(Path recording, int limit) throws IOException {
+        long executionSamples = 0;
+        long allocatedBytes = 0;
+        Map<String, Long> hotMethods = new HashMap<>();
+        Map<String, Long> hotApplicationMethods = new HashMap<>();
+        Map<String, Long> allocationsByType = new HashMap<>();
+        Map<String, Long> allocationSites = new HashMap<>();
+        Map<String, OperationTimingDTO> operations = new HashMap<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case EXECUTION_SAMPLE -> {
+                        executionSamples++;
+                        hotMethods.merge(topMethod(event.getStackTrace()), 1L, Long::sum);
+                        hotApplicationMethods.merge(applicationMethod(event.getStackTrace()), 1L, Long::sum);
+                    }
+                    case ALLOCATION_SAMPLE -> {
+                        long weight = event.getLong("weight");
+                        allocatedBytes += weight;
+                        allocationsByType.merge(event.getClass("objectClass").getName(), weight, Long::sum);
+                        allocationSites.merge(topMethod(event.getStackTrace()), weight, Long::sum);
+                    }
+                    case SERVICE_OPERATION -> addOperation(operations, event.getString("operation"), event.getDuration());
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        List<OperationTimingDTO> operationTimings = operations.values().stream()
+                .sorted(Comparator.comparingDouble(OperationTimingDTO::getTotalMillis).reversed())
+                .limit(limit)
+                .toList();
+        return new ProfilingSummaryDTO(executionSamples, allocatedBytes,
+                top(hotMethods, executionSamples, limit),
+                top(hotApplicationMethods, executionSamples, limit),
+                top(allocationsByType, allocatedBytes, limit),
+                top(allocationSites, allocatedBytes, limit),
+                operationTimings);
+    }
+
+    private static void addOperation(Map<String, OperationTimingDTO> operations, String operation, Duration duration) {
+        double millis = duration.toNanos() / 1_000_000.0;
+        OperationTimingDTO timing = operations.computeIfAbsent(String.valueOf(operation),
+                name -> new OperationTimingDTO(name, 0, 0, 0));
+        timing.setCount(timing.getCount() + 1);
+        timing.setTotalMillis(timing.getTotalMillis() + millis);
+        timing.setMaxMillis(Math.max(timing.getMaxMillis(), millis));
+    }
+
+    private static List<ProfileEntryDTO> top(Map<String, Long> values, long total, int limit) {
+        return values.entrySet().stream()
+                     .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                     .limit(limit)
+                     .map(entry -> new ProfileEntryDTO(entry.getKey(), entry.getValue(),
+                             total == 0 ? 0 : Math.round(entry.getValue() * 1000.0 / total) / 10.0))
+                     .toList();
+    }
+
+    private static String topMethod(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN;
+        }
+        return methodName(stackTrace.getFrames().get(0).getMethod());
+    }
+
+    private static String applicationMethod(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method != null && method.getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return methodName(method);
+            }
+        }
+        return "<outside application code>";
+    }
+
+    private static String methodName(RecordedMethod method) {
+        return method == null ? UNKNOWN : method.getType().getName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,84 @@
+package com.student.spring.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect that remembers which repository method the current thread is running, so
+ * statements can be attributed to it, and emits a {@link RepositoryOperationEvent} for
+ * each call while the event is enabled in a running JFR recording. Spring Data
+ * repositories are named after their interface, e.g. StudentRepository.findAll, rather
+ * than the class that implements the method.
+ */
+@Aspect
+@Component
+public class RepositoryCallTracker {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the repository method the current thread is running.
+     *
+     * @return the repository and method name, or null outside repository calls
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("within(com.student.spring.repository..*) || target(org.springframework.data.repository.Repository)")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = CURRENT.get();
+        String operation = repositoryName(joinPoint.getThis()) + "." + joinPoint.getSignature().getName();
+        CURRENT.set(operation);
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        if (!event.isEnabled()) {
+            event = null;
+        } else {
+            event.begin();
+        }
+        try {
+            Object result = joinPoint.proceed();
+            if (event != null) {
+                event.rows = ServiceOperationRecorder.rows(result);
+            }
+            return result;
+        } catch (Throwable se) {
+            if (event != null) {
+                event.error = se.getClass().getName();
+            }
+            throw se;
+        } finally {
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.commit();
+                }
+            }
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), type -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+            for (Class<?> candidate : interfaces) {
+                if (candidate.getName().startsWith("com.student.spring.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return AopProxyUtils.ultimateTargetClass(repository).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.student.spring.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one call of a repository method, nested in the service operation that made it.
+ */
+@Name("com.student.spring.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Student Management", "Repository"})
+@Description("A call of a repository method")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Repository and method, e.g. StudentRepository.findById")
+    String operation;
+
+    @Label("Rows")
+    @Description("Elements returned: the size of a returned collection, 1 for a single result, 0 for none")
+    long rows;
+
+    @Label("Error")
+    @Description("Class of the exception thrown by the method, if any")
+    String error;
+}
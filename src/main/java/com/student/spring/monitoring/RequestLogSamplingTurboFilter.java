@@ -0,0 +1,33 @@
+package com.student.spring.monitoring;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter that drops the log events below WARN of requests that
+ * {@link RequestLogSamplingFilter} did not sample.
+ *
+ * It only applies to loggers whose names start with loggerPrefix, so framework logs and
+ * the slow query log are kept. Events are dropped before their message is formatted;
+ * warnings and errors, and all events outside requests, always pass.
+ */
+public class RequestLogSamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.student.spring";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(RequestLogSamplingFilter.SAMPLED_KEY)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
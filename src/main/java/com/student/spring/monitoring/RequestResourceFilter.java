@@ -0,0 +1,197 @@
+package com.student.spring.monitoring;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that measures the heap allocated and the CPU time used by the thread
+ * serving each request.
+ *
+ * Both are read from the ThreadMXBean of the JVM before and after the request and
+ * recorded per route template and method as the distribution summary
+ * request.allocated.bytes and the timer request.cpu.time. The filter runs right after
+ * {@link RequestLogSamplingFilter}, so authentication, serialization and the other
+ * filters are included; work handed to other threads, such as the events of a change
+ * stream, is not.
+ *
+ * Requests that fail are recorded as well. A measurement the JVM does not report comes back
+ * as -1; the request is then counted in request.resources.unmeasured, tagged with the
+ * reason, instead of being recorded for it. This is the case for requests served on a
+ * virtual thread, which can move between carrier threads while it waits. JDK 21 reports
+ * neither value for such threads, so they are tagged virtual-thread. Their values are
+ * recorded like any other on a JVM that does report them.
+ *
+ * With request-resources.headers set, the values are also returned in the
+ * X-Request-Allocated-Bytes and X-Request-Cpu-Time-Us headers. Headers have to be sent
+ * before the body, so these cover the request up to the moment the response is committed,
+ * which for a large response is before its serialization has finished.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestResourceFilter extends OncePerRequestFilter {
+
+    public static final String ALLOCATED_BYTES_HEADER = "X-Request-Allocated-Bytes";
+
+    public static final String CPU_TIME_HEADER = "X-Request-Cpu-Time-Us";
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private static final long UNAVAILABLE = -1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${request-resources.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request-resources.headers:false}")
+    private boolean headers;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    // The HotSpot extension of the bean, or null on a JVM that cannot report allocated bytes
+    private com.sun.management.ThreadMXBean allocations;
+
+    @PostConstruct
+    public void init() {
+        if (threads instanceof com.sun.management.ThreadMXBean extended && extended.isThreadAllocatedMemorySupported()) {
+            allocations = extended;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Usage start = new Usage(allocatedBytes(), cpuTime());
+        HeaderWriter headerWriter = headers ? new HeaderWriter(response, start) : null;
+        try {
+            filterChain.doFilter(request, headerWriter != null ? headerWriter : response);
+        } finally {
+            if (headerWriter != null) {
+                headerWriter.writeHeaders();
+            }
+            record(request, new Usage(allocatedBytes(), cpuTime()).since(start));
+        }
+    }
+
+    private void record(HttpServletRequest request, Usage used) {
+        boolean virtual = Thread.currentThread().isVirtual();
+        if (virtual && used.allocatedBytes() == UNAVAILABLE && used.cpuNanos() == UNAVAILABLE) {
+            unmeasured(request, "virtual-thread");
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+        String method = request.getMethod();
+        if (used.allocatedBytes() != UNAVAILABLE) {
+            DistributionSummary.builder("request.allocated.bytes")
+                               .baseUnit("bytes")
+                               .tag("method", method)
+                               .tag("uri", route)
+                               .register(meterRegistry)
+                               .record(used.allocatedBytes());
+        } else {
+            unmeasured(request, virtual ? "virtual-thread" : "allocation-unsupported");
+        }
+        if (used.cpuNanos() != UNAVAILABLE) {
+            Timer.builder("request.cpu.time")
+                 .tag("method", method)
+                 .tag("uri", route)
+                 .register(meterRegistry)
+                 .record(used.cpuNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            unmeasured(request, virtual ? "virtual-thread" : "cpu-time-unsupported");
+        }
+    }
+
+    private long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : UNAVAILABLE;
+    }
+
+    private long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : UNAVAILABLE;
+    }
+
+    private void unmeasured(HttpServletRequest request, String reason) {
+        Counter.builder("request.resources.unmeasured")
+               .tag("method", request.getMethod())
+               .tag("reason", reason)
+               .register(meterRegistry)
+               .increment();
+    }
+
+    /**
+     * Bytes allocated and CPU nanoseconds used by the current thread, either of them
+     * {@link #UNAVAILABLE} when the JVM does not report it.
+     */
+    private record Usage(long allocatedBytes, long cpuNanos) {
+
+        Usage since(Usage start) {
+            return new Usage(difference(allocatedBytes, start.allocatedBytes), difference(cpuNanos, start.cpuNanos));
+        }
+
+        private static long difference(long end, long start) {
+            return end == UNAVAILABLE || start == UNAVAILABLE ? UNAVAILABLE : end - start;
+        }
+    }
+
+    /**
+     * Response wrapper that adds the usage so far as headers just before the response is
+     * committed, or when the request ends if nothing committed it.
+     */
+    private final class HeaderWriter extends OnCommittedResponseWrapper {
+
+        private final Usage start;
+
+        private boolean written;
+
+        private HeaderWriter(HttpServletResponse response, Usage start) {
+            super(response);
+            this.start = start;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            Usage used = new Usage(allocatedBytes(), cpuTime()).since(start);
+            if (used.allocatedBytes() != UNAVAILABLE) {
+                setHeader(ALLOCATED_BYTES_HEADER, Long.toString(used.allocatedBytes()));
+            }
+            if (used.cpuNanos() != UNAVAILABLE) {
+                setHeader(CPU_TIME_HEADER, Long.toString(used.cpuNanos() / 1000));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.student.spring.monitoring;
+
+/**
+ * Counts of the SQL work done while handling one HTTP request.
+ *
+ * The counters of the request being handled by the current thread are reachable through
+ * {@link #current()} between {@link #begin()} and {@link #end()}. An async dispatch of the
+ * request, or a task run on its behalf, continues counting with {@link #resume}. Work done
+ * outside a request, such as by background import and export jobs, is not counted. The
+ * counters are not synchronized: a request is handled by one thread at a time, and the
+ * servlet container orders its dispatches.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private int entitiesLoaded;
+
+    private int collectionsInitialized;
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Starts counting for the request handled by the current thread.
+     *
+     * @return the counters of the request
+     */
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Continues counting for a request on the current thread.
+     *
+     * @param stats the counters of the request, as returned by {@link #begin()}
+     */
+    public static void resume(RequestSqlStats stats) {
+        CURRENT.set(stats);
+    }
+
+    /**
+     * Stops counting for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the counters of the request handled by the current thread.
+     *
+     * @return the counters, or null when the thread is not handling a request
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionInitialized() {
+        collectionsInitialized++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public int getCollectionsInitialized() {
+        return collectionsInitialized;
+    }
+}
@@ -0,0 +1,32 @@
+package com.student.spring.monitoring;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the SQL counters of the current request over to tasks it hands to the
+ * application task executor.
+ *
+ * Spring Boot applies this decorator to that executor, which Spring MVC also uses for
+ * async request processing, so the statements run while writing a StreamingResponseBody
+ * count against the budget of the request that returned it.
+ */
+@Component
+public class RequestSqlStatsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestSqlStats.resume(stats);
+            try {
+                runnable.run();
+            } finally {
+                RequestSqlStats.end();
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.student.spring.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one call of a student, grade, membership or activity service method.
+ * JDBC, socket and lock events recorded on the same thread within its duration belong to it.
+ */
+@Name("com.student.spring.ServiceOperation")
+@Label("Service Operation")
+@Category({"Student Management", "Service"})
+@Description("A call of a business service method")
+@StackTrace(false)
+@Threshold("1 ms")
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Service interface and method, e.g. StudentService.getStudentById")
+    String operation;
+
+    @Label("Entity IDs")
+    @Description("The IDs passed to the method, comma-separated")
+    String entityIds;
+
+    @Label("Rows")
+    @Description("Elements returned: the size of a returned collection, 1 for a single result, 0 for none")
+    long rows;
+
+    @Label("Error")
+    @Description("Class of the exception thrown by the method, if any")
+    String error;
+}
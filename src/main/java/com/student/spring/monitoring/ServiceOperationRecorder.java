@@ -0,0 +1,117 @@
+package com.student.spring.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect that emits a {@link ServiceOperationEvent} around each call of the student, grade,
+ * membership and activity services.
+ *
+ * When no recording has the event enabled, the call only costs the enabled check. The
+ * event's fields are only filled in once it is known to be committed, i.e. when the call
+ * ran longer than the threshold of the recording.
+ */
+@Aspect
+@Component
+public class ServiceOperationRecorder {
+
+    private static final int MAX_IDS = 20;
+
+    private static final String SERVICE_PACKAGE = "com.student.spring.service.";
+
+    private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.student.spring.service.StudentService.*(..))"
+            + " || execution(* com.student.spring.service.GradeService.*(..))"
+            + " || execution(* com.student.spring.service.MembershipService.*(..))"
+            + " || execution(* com.student.spring.service.ActivityService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.rows = rows(result);
+            return result;
+        } catch (Throwable se) {
+            event.error = se.getClass().getName();
+            throw se;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = serviceName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+                event.entityIds = entityIds(joinPoint.getArgs());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Counts the elements of a method result: the size of a collection, map or page, 1 for
+     * any other result and 0 for none.
+     *
+     * @param result the result
+     * @return the number of elements
+     */
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    // The service interface the target implements, e.g. StudentService for StudentServiceImpl
+    private String serviceName(Object service) {
+        return serviceNames.computeIfAbsent(service.getClass(), type -> {
+            for (Class<?> candidate : AopUtils.getTargetClass(service).getInterfaces()) {
+                if (candidate.getName().startsWith(SERVICE_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return AopUtils.getTargetClass(service).getSimpleName();
+        });
+    }
+
+    // Integer and long arguments and collections of them, as the services take entity IDs
+    private static String entityIds(Object[] args) {
+        List<Object> ids = new ArrayList<>();
+        for (Object arg : args) {
+            if (arg instanceof Collection<?> collection) {
+                collection.stream().filter(ServiceOperationRecorder::isId).forEach(ids::add);
+            } else if (isId(arg)) {
+                ids.add(arg);
+            }
+        }
+        String joined = ids.stream().limit(MAX_IDS).map(String::valueOf).collect(Collectors.joining(","));
+        return ids.size() > MAX_IDS ? joined + ",..." : joined;
+    }
+
+    private static boolean isId(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+}
@@ -0,0 +1,346 @@
+package com.student.spring.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Data source proxy that times every statement and hands those slower than the threshold
+ * of the {@link SlowQueryLog} to it.
+ *
+ * Connections and statements are wrapped in dynamic proxies. Statements remember their
+ * SQL and bind parameters, which are only rendered once a statement turns out to be slow.
+ * The result set of a slow query is wrapped as well, to count its rows; its entry is
+ * written when the result set or its statement is closed. Result sets of fast queries are
+ * returned unwrapped, so reading them costs nothing extra.
+ *
+ * When the current trace is sampled, each execution is also observed as jdbc.statement,
+ * which becomes a span of that trace carrying the SQL, so a trace shows the statements each
+ * request ran. Statements outside a sampled trace are not observed at all. The statement
+ * itself is timed inside the observation's scope, so starting and stopping the span is not
+ * counted against the threshold. The timer the observation would also register is disabled
+ * with management.metrics.enable.jdbc.statement=false.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private static final Class<?>[] RESULT_SET_INTERFACE = {ResultSet.class};
+
+    private final SlowQueryLog slowQueryLog;
+
+    private final long thresholdNanos;
+
+    private final ObservationRegistry observationRegistry;
+
+    private final Tracer tracer;
+
+    /**
+     * Constructor that wraps the given data source.
+     *
+     * @param targetDataSource the data source handing out the connections.
+     * @param slowQueryLog the log receiving the slow statements.
+     * @param observationRegistry the registry observing each statement.
+     * @param tracer the tracer telling whether the current trace is sampled.
+     */
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog,
+                               ObservationRegistry observationRegistry, Tracer tracer) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = slowQueryLog.thresholdNanos();
+        this.observationRegistry = observationRegistry;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException se) {
+            throw se.getCause();
+        }
+    }
+
+    // Proxies compare by identity, as pools and transaction managers expect of connections
+    private static Object identityMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class
+                && (method.getName().equals("equals") || method.getName().equals("hashCode"));
+    }
+
+    // An observation of the statement, or null when there is no sampled trace to add its span to
+    private Observation observation(String sql) {
+        Span span = tracer.currentSpan();
+        if (span == null || !Boolean.TRUE.equals(span.context().sampled())) {
+            return null;
+        }
+        Observation observation = Observation.createNotStarted("jdbc.statement", observationRegistry);
+        if (observation.isNoop()) {
+            return null;
+        }
+        return observation.contextualName("jdbc " + operation(sql))
+                          .highCardinalityKeyValue("db.statement", String.valueOf(sql));
+    }
+
+    // The first word of the statement, e.g. "select", naming its span
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "statement";
+        }
+        String trimmed = sql.strip();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? trimmed.substring(0, end).toLowerCase(Locale.ROOT) : "statement";
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identityMethod(proxy, method, args);
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrapStatement((Statement) result, Statement.class, null);
+                case "prepareStatement" -> wrapStatement((Statement) result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall" -> wrapStatement((Statement) result, CallableStatement.class, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object wrapStatement(Statement statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[] {type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final String sql;
+
+        private Object[] binds = new Object[8];
+
+        private int bindCount;
+
+        private int batchSize;
+
+        // A slow query whose result set has not been read to the end yet
+        private SlowQueryLog.SlowQuery pending;
+
+        private ResultSetHandler pendingResultSet;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identityMethod(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index && index > 0) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(binds, 0, bindCount, null);
+                bindCount = 0;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("getResultSet") && pending != null && pendingResultSet == null) {
+                return countRows((ResultSet) SlowQueryDataSource.invoke(target, method, args));
+            } else if (name.equals("close")) {
+                reportPending();
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            reportPending();
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            Observation observation = observation(statementSql);
+            Object result;
+            long elapsed;
+            if (observation == null) {
+                long start = System.nanoTime();
+                result = SlowQueryDataSource.invoke(target, method, args);
+                elapsed = System.nanoTime() - start;
+            } else {
+                observation.start();
+                try (Observation.Scope scope = observation.openScope()) {
+                    long start = System.nanoTime();
+                    result = SlowQueryDataSource.invoke(target, method, args);
+                    elapsed = System.nanoTime() - start;
+                } catch (Throwable se) {
+                    observation.error(se);
+                    throw se;
+                } finally {
+                    observation.stop();
+                }
+            }
+            int batched = batchSize;
+            if (method.getName().contains("Batch")) {
+                batchSize = 0;
+            }
+            if (elapsed < thresholdNanos) {
+                return result;
+            }
+
+            pending = slowQueryLog.capture(statementSql, renderBinds(), batched, elapsed);
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet);
+            }
+            if (result instanceof Boolean hasResultSet) {
+                if (!hasResultSet) {
+                    reportPending(target.getUpdateCount());
+                }
+                return result;
+            }
+            reportPending(updatedRows(result));
+            return result;
+        }
+
+        private Object countRows(ResultSet resultSet) {
+            pendingResultSet = new ResultSetHandler(resultSet, this);
+            return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), RESULT_SET_INTERFACE,
+                    pendingResultSet);
+        }
+
+        // Reports a pending query with the rows read so far, e.g. when its statement is closed first
+        private void reportPending() {
+            reportPending(pendingResultSet != null ? pendingResultSet.rows : -1);
+        }
+
+        private void reportPending(long rows) {
+            if (pending != null) {
+                SlowQueryLog.SlowQuery query = pending;
+                pending = null;
+                pendingResultSet = null;
+                slowQueryLog.report(query, rows);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+        private String renderBinds() {
+            StringBuilder rendered = new StringBuilder("[");
+            for (int i = 0; i < bindCount; i++) {
+                if (i > 0) {
+                    rendered.append(", ");
+                }
+                rendered.append(i + 1).append('=');
+                Object value = binds[i];
+                if (value instanceof byte[] bytes) {
+                    rendered.append("<").append(bytes.length).append(" bytes>");
+                } else {
+                    String text = String.valueOf(value);
+                    rendered.append(text.length() > MAX_BIND_LENGTH ? text.substring(0, MAX_BIND_LENGTH) + "..." : text);
+                }
+            }
+            return rendered.append(']').toString();
+        }
+
+        private long updatedRows(Object result) {
+            if (result instanceof Number count) {
+                return count.longValue();
+            }
+            long rows = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+
+        private final StatementHandler statement;
+
+        private long rows;
+
+        private ResultSetHandler(ResultSet target, StatementHandler statement) {
+            this.target = target;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identityMethod(proxy, method, args);
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close") && statement.pendingResultSet == this) {
+                statement.reportPending(rows);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.student.spring.monitoring;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Bean post processor that wraps the application's data source in a {@link SlowQueryDataSource}
+ * unless slow-query.enabled is false.
+ *
+ * The slow query log, the observation registry and the tracer are looked up only once the data source
+ * is created, so that they and the meter registry they use are not created early as
+ * dependencies of a post processor.
+ */
+@Component
+@ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog,
+                                            ObjectProvider<ObservationRegistry> observationRegistry,
+                                            ObjectProvider<Tracer> tracer) {
+        this.slowQueryLog = slowQueryLog;
+        this.observationRegistry = observationRegistry;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource(dataSource, slowQueryLog.getObject(),
+                    observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+                    tracer.getIfAvailable(() -> Tracer.NOOP));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,114 @@
+package com.student.spring.monitoring;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records statements that took longer than slow-query.threshold-ms to execute.
+ *
+ * Each slow statement is written to the "slow-query" logger, which logback-spring.xml sends
+ * to its own rotating file, with its SQL, bind parameters, row count and elapsed time, the
+ * HTTP route and repository method it ran under and the application frame that issued it.
+ * It is also recorded in the sql.slow.queries timer, tagged by route and repository method.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger("slow-query");
+
+    private static final String NONE = "none";
+
+    private static final String APPLICATION_PACKAGE = "com.student.spring.";
+
+    private static final String MONITORING_PACKAGE = "com.student.spring.monitoring.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${slow-query.threshold-ms:200}")
+    private long thresholdMs;
+
+    /**
+     * Returns the execution time from which a statement counts as slow.
+     *
+     * @return the threshold in nanoseconds
+     */
+    public long thresholdNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Captures a slow statement together with the context it ran in. Called on the thread
+     * that executed the statement, before its rows are known.
+     *
+     * @param sql the statement
+     * @param binds the bind parameters, rendered
+     * @param batchSize the number of batched parameter sets, 0 if the statement was not batched
+     * @param elapsedNanos the execution time
+     * @return the slow statement, to be reported once its row count is known
+     */
+    public SlowQuery capture(String sql, String binds, int batchSize, long elapsedNanos) {
+        return new SlowQuery(sql, binds, batchSize, elapsedNanos, currentRoute(),
+                Optional.ofNullable(RepositoryCallTracker.current()).orElse(NONE), callSite());
+    }
+
+    /**
+     * Logs a slow statement and records it in the sql.slow.queries timer.
+     *
+     * @param query the slow statement
+     * @param rows the rows read or changed, -1 if unknown
+     */
+    public void report(SlowQuery query, long rows) {
+        Timer.builder("sql.slow.queries")
+             .tag("uri", query.route())
+             .tag("repository", query.repositoryMethod())
+             .register(meterRegistry)
+             .record(query.elapsedNanos(), TimeUnit.NANOSECONDS);
+        logger.info("elapsed_ms={} rows={}{} route=\"{}\" repository={} call_site={} sql=\"{}\" binds={}",
+                TimeUnit.NANOSECONDS.toMillis(query.elapsedNanos()), rows,
+                query.batchSize() > 0 ? " batch=" + query.batchSize() : "",
+                query.route(), query.repositoryMethod(), query.callSite(), query.sql(), query.binds());
+    }
+
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? servletAttributes.getRequest().getMethod() + " " + pattern : NONE;
+    }
+
+    // The innermost application frame outside this package; generated proxy classes have no line numbers
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(MONITORING_PACKAGE)
+                        && frame.getLineNumber() > 0)
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse(NONE));
+    }
+
+    /**
+     * A slow statement and the context it ran in.
+     */
+    public record SlowQuery(String sql, String binds, int batchSize, long elapsedNanos, String route,
+                            String repositoryMethod, String callSite) {
+    }
+}
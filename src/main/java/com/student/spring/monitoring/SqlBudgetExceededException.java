@@ -0,0 +1,17 @@
+package com.student.spring.monitoring;
+
+/**
+ * Exception thrown when a request runs more SQL statements than its budget allows and
+ * budgets are configured to fail requests, as in tests guarding fetch plans.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    /**
+     * Constructor that accepts the detail message.
+     *
+     * @param message the route, the statement count and the budget.
+     */
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,208 @@
+package com.student.spring.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that counts the SQL statements, entity loads and lazy collection
+ * initializations of each request and checks them against a per-route statement budget.
+ *
+ * The counts are recorded per route template and method as the distribution summaries
+ * sql.request.statements, sql.request.entities.loaded and sql.request.collections.initialized,
+ * also for requests that fail. A request over its budget is logged and counted in
+ * sql.request.budget.exceeded, so tests can assert on that counter to catch fetch plan
+ * regressions such as a mapper lazily loading each student's activities.
+ *
+ * With sql-budget.fail-on-exceed set, responses are held back until the budget has been
+ * checked, and a request over its budget fails with a {@link SqlBudgetExceededException}
+ * instead of sending its body. Streamed responses (Server-Sent Events and
+ * StreamingResponseBody) are not held back; when they exceed the budget it is only logged
+ * and counted.
+ *
+ * Async requests are counted across all of their dispatches, including the statements of
+ * a StreamingResponseBody (see {@link RequestSqlStatsTaskDecorator}), and checked once the
+ * last dispatch ends. Events sent to a change stream from the change feed's own threads
+ * are not counted. The filter runs after Spring Security, so the user lookup of the
+ * authentication filter is not counted, but around the dispatcher, so lazy loads during
+ * serialization are.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private static final String STATS_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".stats";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql-budget.max-statements:10}")
+    private int defaultMaxStatements;
+
+    // Entries of the form "GET /students/{studentId}=3"
+    @Value("${sql-budget.routes:}")
+    private String[] routeBudgets;
+
+    @Value("${sql-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    private final Map<String, Integer> maxStatementsByRoute = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (String entry : routeBudgets) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("SQL budget entry is not of the form 'METHOD /route=N': " + entry);
+            }
+            maxStatementsByRoute.put(entry.substring(0, separator).trim(),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStats stats = (RequestSqlStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = RequestSqlStats.begin();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        } else {
+            RequestSqlStats.resume(stats);
+        }
+
+        // An async dispatch gets the wrapper the first dispatch started async with
+        HeldBackResponse heldBack = WebUtils.getNativeResponse(response, HeldBackResponse.class);
+        if (heldBack == null && failOnExceed && !isAsyncDispatch(request)) {
+            heldBack = new HeldBackResponse(response, request);
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, heldBack != null ? heldBack : response);
+            completed = true;
+        } finally {
+            RequestSqlStats.end();
+            if (!request.isAsyncStarted()) {
+                checkBudget(request, stats, completed ? heldBack : null);
+            }
+        }
+        if (heldBack != null && !request.isAsyncStarted()) {
+            heldBack.copyBodyToResponse();
+        }
+    }
+
+    // Records the counts and enforces the budget; the held back response is discarded when the request fails
+    private void checkBudget(HttpServletRequest request, RequestSqlStats stats, HeldBackResponse heldBack) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+        String method = request.getMethod();
+        record("sql.request.statements", method, route, stats.getStatements());
+        record("sql.request.entities.loaded", method, route, stats.getEntitiesLoaded());
+        record("sql.request.collections.initialized", method, route, stats.getCollectionsInitialized());
+
+        int budget = maxStatementsByRoute.getOrDefault(method + " " + route, defaultMaxStatements);
+        if (stats.getStatements() <= budget) {
+            logger.debug("{} {} ran {} SQL statement(s), loaded {} entities, initialized {} collection(s)",
+                    method, route, stats.getStatements(), stats.getEntitiesLoaded(), stats.getCollectionsInitialized());
+            return;
+        }
+        Counter.builder("sql.request.budget.exceeded")
+               .tag("method", method)
+               .tag("uri", route)
+               .register(meterRegistry)
+               .increment();
+        String message = method + " " + route + " ran " + stats.getStatements() + " SQL statements, over its budget of "
+                + budget + " (" + stats.getEntitiesLoaded() + " entities loaded, "
+                + stats.getCollectionsInitialized() + " collections initialized)";
+        if (heldBack != null && !heldBack.isStreamed()) {
+            throw new SqlBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    private void record(String name, String method, String route, int amount) {
+        DistributionSummary.builder(name)
+                           .tag("method", method)
+                           .tag("uri", route)
+                           .register(meterRegistry)
+                           .record(amount);
+    }
+
+    /**
+     * Holds the body back until the budget has been checked. Streamed responses (Server-Sent
+     * Events and StreamingResponseBody) write while the request is in async mode; from then on
+     * the held back content is sent and writes go straight to the response.
+     */
+    private static final class HeldBackResponse extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        private boolean streamed;
+
+        private HeldBackResponse(HttpServletResponse response, HttpServletRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        private boolean isStreamed() {
+            return streamed;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return startStreaming() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return startStreaming() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (startStreaming()) {
+                getResponse().flushBuffer();
+            }
+        }
+
+        private boolean startStreaming() throws IOException {
+            if (!streamed && request.isAsyncStarted()) {
+                streamed = true;
+                copyBodyToResponse(false);
+            }
+            return streamed;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.student.spring.repository;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.student.spring.entity.Activity;
 
 /**
@@ -17,5 +19,20 @@ public interface ActivityRepository extends JpaRepository<Activity, Integer> {
 
     Optional<Activity> findByActivityNameAndActivityType(String activityName, String activityType);
 
+    @Query("select a.activityId from Activity a")
+    List<Integer> findAllActivityIds();
+
+    /**
+     * Returns the next (student_id, activity_id) rows of the join table after the given
+     * position, in primary key order.
+     */
+    @Query(value = "select sa.student_id, sa.activity_id from student_activity sa "
+            + "where sa.student_id > :afterStudentId "
+            + "or (sa.student_id = :afterStudentId and sa.activity_id > :afterActivityId) "
+            + "order by sa.student_id, sa.activity_id limit :limit", nativeQuery = true)
+    List<Object[]> findEnrollmentsAfter(@Param("afterStudentId") int afterStudentId,
+                                        @Param("afterActivityId") int afterActivityId,
+                                        @Param("limit") int limit);
+
 }
 
@@ -0,0 +1,23 @@
+package com.student.spring.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.student.spring.entity.ChangeFeedState;
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for the ChangeFeedState row.
+ */
+
+public interface ChangeFeedStateRepository extends JpaRepository<ChangeFeedState, Integer> {
+
+    /**
+     * Reads the state row with a write lock held until the surrounding transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeFeedState s where s.stateId = :stateId")
+    Optional<ChangeFeedState> findForUpdate(@Param("stateId") int stateId);
+}
@@ -0,0 +1,53 @@
+package com.student.spring.repository;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.student.spring.entity.ChangeRecord;
+
+/**
+ * Repository interface for ChangeRecord entities.
+ *
+ * Extends JpaRepository to provide CRUD operations and the position-ordered reads of the change feed.
+ */
+
+public interface ChangeRecordRepository extends JpaRepository<ChangeRecord, Long> {
+
+    /**
+     * Returns the published records after the given feed position, in position order, as a
+     * range scan of the position index.
+     */
+    @Query("select c from ChangeRecord c where c.position > :after order by c.position")
+    List<ChangeRecord> findPublishedAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Returns the committed records that have no feed position yet, oldest first.
+     */
+    @Query("select c from ChangeRecord c where c.position is null order by c.sequence")
+    List<ChangeRecord> findUnpublished(Pageable pageable);
+
+    @Query("select max(c.position) from ChangeRecord c")
+    Long findMaxPosition();
+
+    /**
+     * Gives every record without a feed position its sequence as position, as done once when
+     * the feed state is created, so records written before positions existed keep the
+     * numbers consumers already know them by.
+     */
+    @Modifying
+    @Query("update ChangeRecord c set c.position = c.sequence where c.position is null")
+    int publishAtSequence();
+
+    @Query("select c.sequence from ChangeRecord c where c.createdAt < :cutoff order by c.sequence")
+    List<Long> findSequencesCreatedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeRecord c where c.sequence in :sequences")
+    int deleteBySequences(@Param("sequences") List<Long> sequences);
+}
@@ -0,0 +1,21 @@
+package com.student.spring.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.student.spring.entity.ExportJob;
+import com.student.spring.entity.ExportJobStatus;
+
+/**
+ * Repository interface for ExportJob entities.
+ *
+ * Extends JpaRepository to provide CRUD operations for snapshot export jobs.
+ */
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+
+    /**
+     * Returns the jobs in one of the given states, oldest first.
+     */
+    List<ExportJob> findByStatusInOrderByJobId(Collection<ExportJobStatus> statuses);
+}
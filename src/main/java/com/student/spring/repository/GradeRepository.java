@@ -2,6 +2,7 @@ package com.student.spring.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.student.spring.entity.Grade;
 
 /**
@@ -13,5 +14,11 @@ import com.student.spring.entity.Grade;
 public interface GradeRepository extends JpaRepository<Grade, Integer> {
 
     List<Grade> findByStudentsStudentId(int studentId);
+
+    /**
+     * Returns (gradeId, grade, standard) for every grade without loading the eager students.
+     */
+    @Query("select g.gradeId, g.grade, g.standard from Grade g")
+    List<Object[]> findGradeDescriptors();
 }
     
\ No newline at end of file
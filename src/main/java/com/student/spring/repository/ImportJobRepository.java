@@ -0,0 +1,21 @@
+package com.student.spring.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.student.spring.entity.ImportJob;
+import com.student.spring.entity.ImportJobStatus;
+
+/**
+ * Repository interface for ImportJob entities.
+ *
+ * Extends JpaRepository to provide CRUD operations for import jobs.
+ */
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    /**
+     * Returns the jobs in one of the given states, oldest first.
+     */
+    List<ImportJob> findByStatusInOrderByJobId(Collection<ImportJobStatus> statuses);
+}
@@ -0,0 +1,25 @@
+package com.student.spring.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.student.spring.entity.ImportRowError;
+
+/**
+ * Repository interface for ImportRowError entities.
+ *
+ * Extends JpaRepository to provide CRUD operations and the row-ordered reads of a job's errors.
+ */
+
+public interface ImportRowErrorRepository extends JpaRepository<ImportRowError, Long> {
+
+    /**
+     * Returns the errors of a job for the rows after the given row number, in row order.
+     */
+    @Query("select e from ImportRowError e where e.jobId = :jobId and e.rowNumber > :afterRow "
+            + "order by e.rowNumber, e.errorId")
+    List<ImportRowError> findErrorsAfter(@Param("jobId") long jobId, @Param("afterRow") long afterRow,
+                                         Pageable pageable);
+}
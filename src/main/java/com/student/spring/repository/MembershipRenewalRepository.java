@@ -0,0 +1,82 @@
+package com.student.spring.repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.student.spring.dto.MembershipDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Selects the memberships a bulk renewal applies to.
+ *
+ * The query is built from the criteria that are present, instead of one static query with
+ * a {@code (:x is null or ...)} predicate per criterion, which the database has to plan for
+ * every combination at once and therefore cannot serve from an index. The owning student
+ * and grade are only joined when a grade criterion is given.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MembershipRenewalRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns the next memberships after {@code afterId} matching the given criteria, in ID
+     * order. Null criteria are left out of the query.
+     *
+     * @param type the membership type, or null
+     * @param expiringFrom the first expiry date to include, or null
+     * @param expiringTo the last expiry date to include, or null
+     * @param gradeId the ID of the owning student's grade, or null
+     * @param standard the standard of the owning student's grade, or null
+     * @param afterId the last membership ID of the previous chunk
+     * @param limit the maximum number of memberships to return
+     * @return the matching memberships
+     */
+    public List<MembershipDTO> findRenewalCandidates(String type, Date expiringFrom, Date expiringTo, Integer gradeId,
+                                                     Integer standard, int afterId, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> predicates = new ArrayList<>();
+        predicates.add("m.membershipId > :afterId");
+        parameters.put("afterId", afterId);
+        if (type != null) {
+            predicates.add("m.membershipType = :type");
+            parameters.put("type", type);
+        }
+        if (expiringFrom != null) {
+            predicates.add("m.expiryDate >= :expiringFrom");
+            parameters.put("expiringFrom", expiringFrom);
+        }
+        if (expiringTo != null) {
+            predicates.add("m.expiryDate <= :expiringTo");
+            parameters.put("expiringTo", expiringTo);
+        }
+        if (gradeId != null) {
+            predicates.add("g.gradeId = :gradeId");
+            parameters.put("gradeId", gradeId);
+        }
+        if (standard != null) {
+            predicates.add("g.standard = :standard");
+            parameters.put("standard", standard);
+        }
+
+        StringBuilder jpql = new StringBuilder("select new com.student.spring.dto.MembershipDTO(m.membershipId, "
+                + "m.startDate, m.expiryDate, m.expired, m.membershipType) from Membership m");
+        if (gradeId != null || standard != null) {
+            jpql.append(" join m.student s join s.grade g");
+        }
+        jpql.append(" where ").append(String.join(" and ", predicates)).append(" order by m.membershipId");
+
+        TypedQuery<MembershipDTO> query = entityManager.createQuery(jpql.toString(), MembershipDTO.class)
+                                                       .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
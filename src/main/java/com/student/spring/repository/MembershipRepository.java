@@ -1,8 +1,20 @@
 package com.student.spring.repository;
 
+import java.sql.Date;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.student.spring.dto.MembershipDTO;
 import com.student.spring.entity.Membership;
+import com.student.spring.event.MembershipExpiredEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Membership entities.
@@ -13,4 +25,74 @@ import com.student.spring.entity.Membership;
 public interface MembershipRepository extends JpaRepository<Membership, Integer> {
 
     Optional<Membership> findByStudentStudentId(int studentId);
+
+    /**
+     * Returns all memberships with their student fetched in the same query, instead of the
+     * one query per membership the eager inverse side of the association costs findAll.
+     */
+    @Query("select m from Membership m left join fetch m.student order by m.membershipId")
+    List<Membership> findAllWithStudent();
+
+    /**
+     * Returns the next unexpired memberships whose expiry date is before the given day,
+     * in expiry order, and locks them until the surrounding transaction ends. Rows locked by
+     * another transaction, such as a renewal or the sweep of another instance, are skipped.
+     * Served by the (expired, expiryDate) index without loading entities.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select new com.student.spring.event.MembershipExpiredEvent(m.membershipId, m.membershipType, m.expiryDate) "
+            + "from Membership m where m.expired = false and m.expiryDate < :asOf "
+            + "order by m.expiryDate, m.membershipId")
+    List<MembershipExpiredEvent> findExpiryCandidates(@Param("asOf") Date asOf, Pageable pageable);
+
+    /**
+     * Marks the given memberships as expired with a single set-based UPDATE.
+     *
+     * @return the number of rows changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Membership m set m.expired = true where m.membershipId in :ids and m.expired = false")
+    int markExpired(@Param("ids") List<Integer> ids);
+
+    /**
+     * Returns the next memberships expiring on or before {@code to}, strictly after the
+     * (afterDate, afterId) keyset position, in (expiryDate, membershipId) order.
+     */
+    @Query("select new com.student.spring.dto.MembershipDTO(m.membershipId, m.startDate, m.expiryDate, m.expired, m.membershipType) "
+            + "from Membership m where m.expiryDate <= :to "
+            + "and (m.expiryDate > :afterDate or (m.expiryDate = :afterDate and m.membershipId > :afterId)) "
+            + "order by m.expiryDate, m.membershipId")
+    List<MembershipDTO> findExpiringAfter(@Param("to") Date to, @Param("afterDate") Date afterDate,
+                                          @Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Same as {@link #findExpiringAfter} restricted to one membership type, served by the
+     * (membershipType, expiryDate) index.
+     */
+    @Query("select new com.student.spring.dto.MembershipDTO(m.membershipId, m.startDate, m.expiryDate, m.expired, m.membershipType) "
+            + "from Membership m where m.membershipType = :type and m.expiryDate <= :to "
+            + "and (m.expiryDate > :afterDate or (m.expiryDate = :afterDate and m.membershipId > :afterId)) "
+            + "order by m.expiryDate, m.membershipId")
+    List<MembershipDTO> findExpiringByTypeAfter(@Param("type") String type, @Param("to") Date to,
+                                                @Param("afterDate") Date afterDate, @Param("afterId") int afterId,
+                                                Pageable pageable);
+
+    @Query("select new com.student.spring.dto.MembershipDTO(m.membershipId, m.startDate, m.expiryDate, m.expired, m.membershipType) "
+            + "from Membership m where m.membershipId in :ids")
+    List<MembershipDTO> findRenewalCandidatesByIds(@Param("ids") List<Integer> ids);
+
+    @Query("select new com.student.spring.dto.MembershipDTO(m.membershipId, m.startDate, m.expiryDate, m.expired, m.membershipType) "
+            + "from Student s join s.membership m where s.studentId in :studentIds")
+    List<MembershipDTO> findRenewalCandidatesByStudentIds(@Param("studentIds") List<Integer> studentIds);
+
+    /**
+     * Renews the given memberships with a single set-based UPDATE.
+     *
+     * @return the number of rows changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Membership m set m.startDate = :startDate, m.expiryDate = :expiryDate, m.expired = false "
+            + "where m.membershipId in :ids")
+    int renew(@Param("ids") List<Integer> ids, @Param("startDate") Date startDate, @Param("expiryDate") Date expiryDate);
 }
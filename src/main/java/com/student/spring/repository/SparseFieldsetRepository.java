@@ -0,0 +1,296 @@
+package com.student.spring.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Runs projection queries tailored to a sparse fieldset such as
+ * {@code studentId,firstName,grade.standard}.
+ *
+ * Only the columns of the requested fields are selected, and an association is only
+ * joined when one of its fields is requested. To-one associations are joined into the
+ * main query; collections are read by one extra query per 1000 rows. A field name may
+ * also be the name of an association, which selects all of its fields. Field names are
+ * the JSON property names of the corresponding DTOs.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class SparseFieldsetRepository {
+
+    private static final int COLLECTION_BATCH_SIZE = 1000;
+
+    private static final Resource STUDENT = new Resource("Student", "s", "studentId")
+            .column("studentId", "studentId")
+            .column("firstName", "firstName")
+            .column("lastName", "lastName")
+            .column("phone", "phoneNo")
+            .column("email", "email")
+            .column("address", "address")
+            .column("dob", "dob")
+            .column("possibleDuplicate", "possibleDuplicate")
+            .association(new Association("membership", "membership", "m", "membershipId", false)
+                    .column("membershipId", "membershipId")
+                    .column("startDate", "startDate")
+                    .column("expiryDate", "expiryDate")
+                    .column("expired", "expired")
+                    .column("membershipType", "membershipType"))
+            .association(new Association("grade", "grade", "g", "gradeId", false)
+                    .column("gradeId", "gradeId")
+                    .column("grade", "grade")
+                    .column("standard", "standard"))
+            .association(new Association("activities", "activities", "a", "activityId", true)
+                    .column("activityId", "activityId")
+                    .column("activityName", "activityName")
+                    .column("activityType", "activityType"));
+
+    private static final Resource MEMBERSHIP = new Resource("Membership", "m", "membershipId")
+            .column("membershipId", "membershipId")
+            .column("startDate", "startDate")
+            .column("expiryDate", "expiryDate")
+            .column("expired", "expired")
+            .column("membershipType", "membershipType");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns the requested fields of all students, or of one student, in ID order.
+     *
+     * @param fields the requested field names
+     * @param studentId the ID of the one student to return, or null for all students
+     * @return one map per student, with nested maps for to-one associations and lists of maps for collections
+     * @throws InvalidDataAccessApiUsageException if a field name is unknown
+     */
+    public List<Map<String, Object>> findStudents(Collection<String> fields, Integer studentId) {
+        return find(STUDENT, fields, studentId);
+    }
+
+    /**
+     * Returns the requested fields of all memberships, or of one membership, in ID order.
+     *
+     * @param fields the requested field names
+     * @param membershipId the ID of the one membership to return, or null for all memberships
+     * @return one map per membership
+     * @throws InvalidDataAccessApiUsageException if a field name is unknown
+     */
+    public List<Map<String, Object>> findMemberships(Collection<String> fields, Integer membershipId) {
+        return find(MEMBERSHIP, fields, membershipId);
+    }
+
+    private List<Map<String, Object>> find(Resource resource, Collection<String> fields, Integer id) {
+        Set<String> selected = resource.resolve(fields);
+
+        // Column 0 is always the ID; then each selected column, and the key of each joined association.
+        List<String> selections = new ArrayList<>();
+        selections.add(resource.alias + "." + resource.idProperty);
+        Map<String, Integer> positions = new HashMap<>();
+        Set<Association> joined = new LinkedHashSet<>();
+        Set<Association> collections = new LinkedHashSet<>();
+        for (String field : selected) {
+            Association association = resource.associationOf(field);
+            if (association == null) {
+                positions.put(field, selections.size());
+                selections.add(resource.alias + "." + resource.columns.get(field));
+            } else if (association.collection) {
+                collections.add(association);
+            } else {
+                if (joined.add(association)) {
+                    positions.put(association.name, selections.size());
+                    selections.add(association.alias + "." + association.keyProperty);
+                }
+                positions.put(field, selections.size());
+                selections.add(association.alias + "." + association.columns.get(association.fieldName(field)));
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("select ").append(String.join(", ", selections))
+                .append(" from ").append(resource.entity).append(' ').append(resource.alias);
+        for (Association association : joined) {
+            jpql.append(" left join ").append(resource.alias).append('.').append(association.property)
+                .append(' ').append(association.alias);
+        }
+        if (id != null) {
+            jpql.append(" where ").append(resource.alias).append('.').append(resource.idProperty).append(" = :id");
+        }
+        jpql.append(" order by ").append(resource.alias).append('.').append(resource.idProperty);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+
+        Map<Object, Map<String, Object>> rowsById = new LinkedHashMap<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected) {
+                Association association = resource.associationOf(field);
+                if (association == null) {
+                    row.put(field, tuple.get(positions.get(field)));
+                } else if (association.collection) {
+                    row.putIfAbsent(association.name, new ArrayList<>());
+                } else if (tuple.get(positions.get(association.name)) == null) {
+                    row.put(association.name, null);
+                } else {
+                    nestedMap(row, association.name).put(association.fieldName(field), tuple.get(positions.get(field)));
+                }
+            }
+            rowsById.put(tuple.get(0), row);
+        }
+
+        for (Association association : collections) {
+            fillCollection(resource, association, selected, rowsById);
+        }
+        return new ArrayList<>(rowsById.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fillCollection(Resource resource, Association association, Set<String> selected,
+                                Map<Object, Map<String, Object>> rowsById) {
+        List<String> fields = selected.stream()
+                                      .filter(field -> resource.associationOf(field) == association)
+                                      .map(association::fieldName)
+                                      .collect(Collectors.toList());
+        String jpql = "select " + resource.alias + "." + resource.idProperty + ", "
+                + fields.stream().map(field -> association.alias + "." + association.columns.get(field))
+                               .collect(Collectors.joining(", "))
+                + " from " + resource.entity + " " + resource.alias
+                + " join " + resource.alias + "." + association.property + " " + association.alias
+                + " where " + resource.alias + "." + resource.idProperty + " in :ids"
+                + " order by " + resource.alias + "." + resource.idProperty + ", "
+                + association.alias + "." + association.keyProperty;
+
+        List<Object> ids = new ArrayList<>(rowsById.keySet());
+        for (int from = 0; from < ids.size(); from += COLLECTION_BATCH_SIZE) {
+            List<Tuple> tuples = entityManager.createQuery(jpql, Tuple.class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + COLLECTION_BATCH_SIZE, ids.size())))
+                    .getResultList();
+            for (Tuple tuple : tuples) {
+                Map<String, Object> element = new LinkedHashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    element.put(fields.get(i), tuple.get(i + 1));
+                }
+                ((List<Object>) rowsById.get(tuple.get(0)).get(association.name)).add(element);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> nestedMap(Map<String, Object> row, String name) {
+        return (Map<String, Object>) row.computeIfAbsent(name, key -> new LinkedHashMap<String, Object>());
+    }
+
+    /**
+     * The selectable fields of one entity: field name to entity property, plus its associations.
+     */
+    private static final class Resource {
+
+        private final String entity;
+        private final String alias;
+        private final String idProperty;
+        private final Map<String, String> columns = new LinkedHashMap<>();
+        private final Map<String, Association> associations = new LinkedHashMap<>();
+
+        private Resource(String entity, String alias, String idProperty) {
+            this.entity = entity;
+            this.alias = alias;
+            this.idProperty = idProperty;
+        }
+
+        private Resource column(String field, String property) {
+            columns.put(field, property);
+            return this;
+        }
+
+        private Resource association(Association association) {
+            associations.put(association.name, association);
+            return this;
+        }
+
+        private Association associationOf(String field) {
+            int dot = field.indexOf('.');
+            return dot < 0 ? null : associations.get(field.substring(0, dot));
+        }
+
+        // Expands association names to all of their fields and rejects unknown names.
+        private Set<String> resolve(Collection<String> fields) {
+            Set<String> resolved = new LinkedHashSet<>();
+            for (String requested : fields) {
+                String field = requested.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                Association association = associations.get(field);
+                Association owner = associationOf(field);
+                if (columns.containsKey(field)) {
+                    resolved.add(field);
+                } else if (association != null) {
+                    association.columns.keySet().forEach(name -> resolved.add(association.name + "." + name));
+                } else if (owner != null && owner.columns.containsKey(owner.fieldName(field))) {
+                    resolved.add(field);
+                } else {
+                    throw new IllegalArgumentException("Unknown field: " + field + "; known fields are "
+                            + knownFields());
+                }
+            }
+            if (resolved.isEmpty()) {
+                throw new IllegalArgumentException("No fields requested");
+            }
+            return resolved;
+        }
+
+        private String knownFields() {
+            List<String> known = new ArrayList<>(columns.keySet());
+            associations.values().forEach(association -> known.addAll(Arrays.asList(association.qualifiedFields())));
+            return String.join(",", known);
+        }
+    }
+
+    /**
+     * A to-one or collection association of a resource and its selectable fields.
+     */
+    private static final class Association {
+
+        private final String name;
+        private final String property;
+        private final String alias;
+        private final String keyProperty;
+        private final boolean collection;
+        private final Map<String, String> columns = new LinkedHashMap<>();
+
+        private Association(String name, String property, String alias, String keyProperty, boolean collection) {
+            this.name = name;
+            this.property = property;
+            this.alias = alias;
+            this.keyProperty = keyProperty;
+            this.collection = collection;
+        }
+
+        private Association column(String field, String property) {
+            columns.put(field, property);
+            return this;
+        }
+
+        private String fieldName(String qualifiedField) {
+            return qualifiedField.substring(name.length() + 1);
+        }
+
+        private String[] qualifiedFields() {
+            return columns.keySet().stream().map(field -> name + "." + field).toArray(String[]::new);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.student.spring.repository;
 
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.student.spring.dto.StudentSearchHitDTO;
 import com.student.spring.entity.Student;
 
 /**
@@ -10,5 +16,69 @@ import com.student.spring.entity.Student;
  */
 
 public interface StudentRepository extends JpaRepository<Student, Integer> {
-    
+
+    /**
+     * Returns (gradeId, student count) pairs; students without a grade are counted under a null gradeId.
+     */
+    @Query("select g.gradeId, count(s) from Student s left join s.grade g group by g.gradeId")
+    List<Object[]> countStudentsByGradeId();
+
+    /**
+     * Returns the given students with their membership, grade and activities fetched in the
+     * same query, in no particular order. IDs without a student are skipped.
+     */
+    @Query("select distinct s from Student s left join fetch s.membership left join fetch s.grade "
+            + "left join fetch s.activities where s.studentId in :ids")
+    List<Student> findAllWithAssociationsByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Returns all students with their membership, grade and activities fetched in the same
+     * query, in ID order.
+     */
+    @Query("select distinct s from Student s left join fetch s.membership left join fetch s.grade "
+            + "left join fetch s.activities order by s.studentId")
+    List<Student> findAllWithAssociations();
+
+    /**
+     * Returns the highest student ID, or null when there are no students.
+     */
+    @Query("select max(s.studentId) from Student s")
+    Integer findMaxStudentId();
+
+    /**
+     * Returns (studentId, firstName, lastName, email, phoneNo) rows for the students with
+     * afterId < studentId <= toId, in ID order.
+     */
+    @Query("select s.studentId, s.firstName, s.lastName, s.email, s.phoneNo from Student s "
+            + "where s.studentId > :afterId and s.studentId <= :toId order by s.studentId")
+    List<Object[]> findSearchFieldsBetween(@Param("afterId") int afterId, @Param("toId") int toId, Pageable pageable);
+
+    /**
+     * Returns the search result fields of the given students, in no particular order.
+     */
+    @Query("select new com.student.spring.dto.StudentSearchHitDTO(s.studentId, s.firstName, s.lastName, s.email, s.phoneNo) "
+            + "from Student s where s.studentId in :ids")
+    List<StudentSearchHitDTO> findSearchHits(@Param("ids") List<Integer> ids);
+
+    /**
+     * Returns the IDs of the students with the given normalized email or phone key, in ID order.
+     */
+    @Query("select s.studentId from Student s where s.emailKey = :emailKey or s.phoneKey = :phoneKey "
+            + "order by s.studentId")
+    List<Integer> findIdsByContactKeys(@Param("emailKey") String emailKey, @Param("phoneKey") String phoneKey);
+
+    /**
+     * Returns (studentId, emailKey, phoneKey) rows for the students after the given ID, in ID order.
+     */
+    @Query("select s.studentId, s.emailKey, s.phoneKey from Student s where s.studentId > :afterId "
+            + "order by s.studentId")
+    List<Object[]> findContactKeysAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Returns (studentId, email, phoneNo) rows for the students after the given ID whose
+     * normalized contact keys have not been set yet, in ID order.
+     */
+    @Query("select s.studentId, s.email, s.phoneNo from Student s where s.studentId > :afterId "
+            + "and (s.emailKey is null or s.phoneKey is null) order by s.studentId")
+    List<Object[]> findContactsWithoutKeysAfter(@Param("afterId") int afterId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package com.student.spring.security.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,10 +32,12 @@ public class SecurityConfig {
 
     private final UserRepository userRepository;
     private final JWTUtil jwtUtil;
+    private final ObservationRegistry observationRegistry;
 
-    public SecurityConfig(UserRepository userRepository, JWTUtil jwtUtil) {
+    public SecurityConfig(UserRepository userRepository, JWTUtil jwtUtil, ObservationRegistry observationRegistry) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -67,10 +70,12 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/auth/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
-        http.addFilterBefore(new JWTAuthenticationFilter(jwtUtil, userDetailsService()), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new JWTAuthenticationFilter(jwtUtil, userDetailsService(), observationRegistry), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
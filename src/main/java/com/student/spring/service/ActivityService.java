@@ -1,7 +1,10 @@
 package com.student.spring.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.ActivityQueryResultDTO;
 import com.student.spring.exception.StudentException;
 
 /**
@@ -49,4 +52,25 @@ public interface ActivityService {
      * @throws StudentException if an error occurs during deletion.
      */
     void deleteActivity(int activityId) throws StudentException;
+
+    /**
+     * Finds the students matching a boolean combination of activity enrollments.
+     *
+     * @param all activity IDs the students must all be enrolled in.
+     * @param any activity IDs of which the students must be enrolled in at least one.
+     * @param none activity IDs the students must not be enrolled in.
+     * @param limit the maximum number of student IDs to return.
+     * @return the number of matching students and their IDs up to the limit.
+     * @throws StudentException if the query cannot be answered.
+     */
+    ActivityQueryResultDTO queryEnrollments(Collection<Integer> all, Collection<Integer> any,
+                                            Collection<Integer> none, int limit) throws StudentException;
+
+    /**
+     * Counts the enrolled students of every activity.
+     *
+     * @return a map of activity ID to number of enrolled students.
+     * @throws StudentException if the counts cannot be computed.
+     */
+    Map<Integer, Long> countEnrollments() throws StudentException;
 }
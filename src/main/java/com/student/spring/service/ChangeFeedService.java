@@ -0,0 +1,59 @@
+package com.student.spring.service;
+
+import java.util.Collection;
+import com.student.spring.dto.ChangePageDTO;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.exception.StudentException;
+
+/**
+ * ChangeFeedService writes domain changes to the transactional outbox and
+ * serves them to downstream consumers in commit order.
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Records a change in the outbox. Must be called inside the transaction that makes the change.
+     *
+     * @param entityType the changed entity type (see ChangeRecord constants).
+     * @param entityId the ID of the changed entity.
+     * @param operation the kind of change.
+     * @param payload the DTO to publish as the new state, or null.
+     */
+    void recordChange(String entityType, int entityId, ChangeOperation operation, Object payload);
+
+    /**
+     * Records the same change without payload for several entities, as done by bulk updates.
+     * Must be called inside the transaction that makes the change.
+     *
+     * @param entityType the changed entity type.
+     * @param entityIds the IDs of the changed entities.
+     * @param operation the kind of change.
+     */
+    void recordChanges(String entityType, Collection<Integer> entityIds, ChangeOperation operation);
+
+    /**
+     * Retrieves the published changes after a feed position.
+     *
+     * @param after the last feed position already consumed.
+     * @param limit the maximum number of changes to return.
+     * @return the changes in position order and the new position.
+     * @throws StudentException if the limit is not positive or retrieval fails.
+     */
+    ChangePageDTO getChanges(long after, int limit) throws StudentException;
+
+    /**
+     * Registers a listener that is called, off the writing thread, after new changes are published.
+     * Listeners are called one after the other on the publishing thread, so they must only signal
+     * the work to be done, such as waking a task on an executor, and never block.
+     *
+     * @param listener the listener to call.
+     */
+    void addChangeListener(Runnable listener);
+
+    /**
+     * Unregisters a listener added with {@link #addChangeListener(Runnable)}.
+     *
+     * @param listener the listener to remove.
+     */
+    void removeChangeListener(Runnable listener);
+}
@@ -2,6 +2,7 @@ package com.student.spring.service;
 
 import java.util.List;
 import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.GradeStatsDTO;
 import com.student.spring.exception.StudentException;
 
 /**
@@ -61,4 +62,12 @@ public interface GradeService {
      * @throws StudentException if an error occurs during deletion.
      */
     void deleteGrade(int gradeId) throws StudentException;
+
+    /**
+     * Retrieves the number of students per grade letter and standard.
+     * 
+     * @return the grade distribution.
+     * @throws StudentException if the statistics are not available.
+     */
+    GradeStatsDTO getGradeStats() throws StudentException;
 }
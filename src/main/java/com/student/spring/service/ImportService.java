@@ -0,0 +1,36 @@
+package com.student.spring.service;
+
+import java.io.InputStream;
+import com.student.spring.dto.ImportJobDTO;
+import com.student.spring.exception.StudentException;
+
+/**
+ * ImportService accepts bulk import files and imports them in the background,
+ * recording progress and rejected rows per job.
+ */
+public interface ImportService {
+
+    /**
+     * Stores a CSV file of students and queues it for import.
+     *
+     * The file needs a header row with the columns firstName, lastName, phoneNo, email,
+     * address, dob (yyyy-MM-dd), gradeId, membershipId and activityIds (separated by ';').
+     *
+     * @param fileName the original name of the uploaded file.
+     * @param content the file content.
+     * @return the queued job.
+     * @throws StudentException if the file cannot be stored.
+     */
+    ImportJobDTO createStudentImport(String fileName, InputStream content) throws StudentException;
+
+    /**
+     * Retrieves the progress of an import job and a page of its row errors.
+     *
+     * @param jobId the ID of the job.
+     * @param afterRow only errors of rows after this row number are returned.
+     * @param limit the maximum number of errors to return.
+     * @return the job.
+     * @throws StudentException if no job has that ID or retrieval fails.
+     */
+    ImportJobDTO getImportJob(long jobId, long afterRow, int limit) throws StudentException;
+}
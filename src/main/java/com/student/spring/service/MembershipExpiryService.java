@@ -0,0 +1,19 @@
+package com.student.spring.service;
+
+import java.time.LocalDate;
+
+/**
+ * MembershipExpiryService marks memberships whose expiry date has passed as expired
+ * and publishes an event for each of them.
+ */
+public interface MembershipExpiryService {
+
+    /**
+     * Expires every unexpired membership with an expiry date before the given day,
+     * processing at most the configured number of chunks.
+     *
+     * @param asOf the first day on which memberships are still valid.
+     * @return the number of memberships marked as expired.
+     */
+    int expireMemberships(LocalDate asOf);
+}
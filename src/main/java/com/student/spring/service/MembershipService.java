@@ -1,7 +1,12 @@
 package com.student.spring.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import com.student.spring.dto.MembershipDTO;
+import com.student.spring.dto.MembershipPageDTO;
+import com.student.spring.dto.MembershipRenewalRequestDTO;
+import com.student.spring.dto.MembershipRenewalResultDTO;
 import com.student.spring.exception.StudentException;
 
 /**
@@ -48,7 +53,28 @@ public interface MembershipService {
          * @throws StudentException if retrieval fails.
          */
 
-        List<MembershipDTO> getAllMemberships() throws StudentException;        
+        List<MembershipDTO> getAllMemberships() throws StudentException;
+
+        /**
+         * Retrieves only the requested fields of all memberships.
+         *
+         * @param fields the field names, e.g. membershipId or expiryDate.
+         * @return one map of field values per membership.
+         * @throws StudentException if a field name is unknown or retrieval fails.
+         */
+
+        List<Map<String, Object>> getAllMembershipFields(List<String> fields) throws StudentException;
+
+        /**
+         * Retrieves only the requested fields of one membership.
+         *
+         * @param id the membership ID.
+         * @param fields the field names, e.g. membershipId or expiryDate.
+         * @return the map of field values, or null if not found.
+         * @throws StudentException if a field name is unknown or retrieval fails.
+         */
+
+        Map<String, Object> getMembershipFieldsById(int id, List<String> fields) throws StudentException;        
 
         /**
          * Updates an existing membership record.
@@ -67,4 +93,31 @@ public interface MembershipService {
          */
 
         void deleteMembership(int membershipId) throws StudentException;
+
+        /**
+         * Retrieves one keyset page of memberships expiring within a date window.
+         * 
+         * @param from the first expiry date to include.
+         * @param to the last expiry date to include.
+         * @param membershipType the membership type to filter on, or null for all types.
+         * @param cursor the nextCursor of the previous page, or null for the first page.
+         * @param limit the maximum number of memberships to return.
+         * @return the page of memberships and the cursor of the next page.
+         * @throws StudentException if the window or cursor is invalid or retrieval fails.
+         */
+
+        MembershipPageDTO getExpiringMemberships(LocalDate from, LocalDate to, String membershipType,
+                                                 String cursor, int limit) throws StudentException;
+
+        /**
+         * Renews all memberships selected by an ID list or a selector, restarting each
+         * term today with the length defined for its membership type.
+         * 
+         * @param request the ID list or selector of memberships to renew.
+         * @return the matched, renewed and skipped counts, and the failure that stopped the
+         *         renewal, if any.
+         * @throws StudentException if the request is invalid.
+         */
+
+        MembershipRenewalResultDTO renewMemberships(MembershipRenewalRequestDTO request) throws StudentException;
 }
@@ -0,0 +1,40 @@
+package com.student.spring.service;
+
+import java.nio.file.Path;
+import com.student.spring.dto.ProfilingCaptureDTO;
+import com.student.spring.exception.StudentException;
+
+/**
+ * ProfilingService takes time-bounded Java Flight Recorder captures of the running
+ * application on demand, stores them on local disk and summarizes them.
+ */
+public interface ProfilingService {
+
+    /**
+     * Starts a capture that stops by itself after the given time.
+     *
+     * @param settings the JDK settings to record with, "default" or "profile".
+     * @param seconds the length of the capture.
+     * @return the running capture, or null if another capture is still running.
+     * @throws StudentException if the settings are unknown or the recording cannot be started.
+     */
+    ProfilingCaptureDTO startCapture(String settings, int seconds) throws StudentException;
+
+    /**
+     * Retrieves the state of a capture, with its summary once it has completed.
+     *
+     * @param captureId the ID of the capture.
+     * @return the capture, or null if no capture has that ID.
+     * @throws StudentException if retrieval fails.
+     */
+    ProfilingCaptureDTO getCapture(long captureId) throws StudentException;
+
+    /**
+     * Locates the recording of a completed capture.
+     *
+     * @param captureId the ID of the capture.
+     * @return the JFR file, or null if the capture does not exist or has not completed.
+     * @throws StudentException if retrieval fails.
+     */
+    Path getCaptureRecording(long captureId) throws StudentException;
+}
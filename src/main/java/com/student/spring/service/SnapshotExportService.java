@@ -0,0 +1,40 @@
+package com.student.spring.service;
+
+import java.nio.file.Path;
+import com.student.spring.dto.ExportJobDTO;
+import com.student.spring.exception.StudentException;
+
+/**
+ * SnapshotExportService writes point-in-time consistent exports of the students,
+ * memberships, grades and activity enrollments to local disk in the background.
+ */
+public interface SnapshotExportService {
+
+    /**
+     * Queues a snapshot export.
+     *
+     * @return the queued job.
+     * @throws StudentException if the job cannot be created.
+     */
+    ExportJobDTO createSnapshotExport() throws StudentException;
+
+    /**
+     * Retrieves the state of a snapshot export, with its parts once it has completed.
+     *
+     * @param jobId the ID of the job.
+     * @return the job.
+     * @throws StudentException if no job has that ID or retrieval fails.
+     */
+    ExportJobDTO getSnapshotExport(long jobId) throws StudentException;
+
+    /**
+     * Locates one gzipped part of a completed snapshot export.
+     *
+     * @param jobId the ID of the job.
+     * @param partName the file name of the part, as listed in the job.
+     * @return the part file.
+     * @throws StudentException if no job has that ID, the job has not completed or has no such part,
+     *         or retrieval fails.
+     */
+    Path getSnapshotPart(long jobId, String partName) throws StudentException;
+}
@@ -1,8 +1,12 @@
 package com.student.spring.service;
 
 import java.util.List;
+import java.util.Map;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.student.spring.dto.StudentDTO;
 import com.student.spring.dto.StudentInputDTO;
+import com.student.spring.dto.StudentLookupDTO;
+import com.student.spring.dto.StudentSearchResultDTO;
 import com.student.spring.exception.StudentException;
 
 /**
@@ -34,6 +38,26 @@ public interface StudentService {
      * @throws StudentException if retrieval fails.
      */
     StudentDTO getStudentById(int studentId) throws StudentException;
+
+    /**
+     * Retrieves only the requested fields of all students, selecting just the columns
+     * and joins those fields need.
+     *
+     * @param fields the field names, e.g. studentId, firstName or grade.standard.
+     * @return one map of field values per student.
+     * @throws StudentException if a field name is unknown or retrieval fails.
+     */
+    List<Map<String, Object>> getAllStudentFields(List<String> fields) throws StudentException;
+
+    /**
+     * Retrieves only the requested fields of one student.
+     *
+     * @param studentId the student ID.
+     * @param fields the field names, e.g. studentId, firstName or grade.standard.
+     * @return the map of field values, or null if not found.
+     * @throws StudentException if a field name is unknown or retrieval fails.
+     */
+    Map<String, Object> getStudentFieldsById(int studentId, List<String> fields) throws StudentException;
     
     /**
      * Checks if a student exists with the given ID.
@@ -63,4 +87,42 @@ public interface StudentService {
     public StudentDTO registerStudentFromInput(StudentInputDTO studentInputDTO) throws StudentException;
 
     public StudentDTO updateStudentFromInput(int studentId, StudentInputDTO studentInputDTO) throws StudentException;
+
+    /**
+     * Applies a JSON Merge Patch to an existing student, updating only the changed
+     * columns and the added or removed activity enrollments.
+     *
+     * @param studentId the ID of the student to patch.
+     * @param mergePatch the merge patch document with flat input field names.
+     * @return the patched Student DTO.
+     * @throws StudentException if the student is not found or the patched values are invalid.
+     */
+    StudentDTO patchStudent(int studentId, JsonNode mergePatch) throws StudentException;
+
+    /**
+     * Retrieves several students by ID with one query.
+     *
+     * @param studentIds the IDs of the students to retrieve; may contain duplicates.
+     * @return one entry per requested ID, in request order, marked as not found where no student has that ID.
+     * @throws StudentException if retrieval fails.
+     */
+    List<StudentLookupDTO> getStudentsByIds(List<Integer> studentIds) throws StudentException;
+
+    /**
+     * Searches students by first name, last name, email and phone number. Every word of
+     * the query must match the start of a word in one of those fields.
+     *
+     * @param query the search text.
+     * @param limit the maximum number of students to return.
+     * @return the number of matching students and the best ranked ones.
+     * @throws StudentException if the query has no words or the search index is not ready.
+     */
+    StudentSearchResultDTO searchStudents(String query, int limit) throws StudentException;
+
+    /**
+     * Checks whether student search is available.
+     *
+     * @return true once the search index has been built.
+     */
+    boolean isSearchReady();
 }
@@ -1,17 +1,27 @@
 package com.student.spring.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.ActivityQueryResultDTO;
 import com.student.spring.entity.Activity;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
+import com.student.spring.exception.ErrorCode;
 import com.student.spring.exception.StudentException;
+import com.student.spring.index.ActivityEnrollmentIndex;
 import com.student.spring.mapper.ActivityMapper;
 import com.student.spring.repository.ActivityRepository;
 import com.student.spring.service.ActivityService;
+import com.student.spring.service.ChangeFeedService;
 
 /**
  * Service implementation class for managing activity-related operations.
@@ -21,13 +31,18 @@ import com.student.spring.service.ActivityService;
  * duplicate activity names or type suffixes.
  */
 @Service
+@Observed(name = "service.method")
 public class ActivityServiceImpl implements ActivityService {
 
-    private static final Logger logger = LoggerFactory.getLogger(ActivityServiceImpl.class);
-
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ActivityEnrollmentIndex activityEnrollmentIndex;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
     /**
      * Adds a new activity after validating for duplicates.
      *
@@ -36,11 +51,17 @@ public class ActivityServiceImpl implements ActivityService {
      * @throws StudentException if the activity is a duplicate or saving fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public int addActivity(ActivityDTO activityDTO) throws StudentException {
         validateDuplicateActivity(activityDTO, false);
 
         Activity activity = ActivityMapper.toEntity(activityDTO);
+        // The DTO's default ID of 0 would make save merge a row that does not exist.
+        activity.setActivityId(null);
         Activity newActivity = activityRepository.save(activity);
+        activityEnrollmentIndex.addActivity(newActivity.getActivityId());
+        changeFeedService.recordChange(ChangeRecord.ACTIVITY, newActivity.getActivityId(), ChangeOperation.CREATED,
+                ActivityMapper.toDTO(newActivity));
         return newActivity.getActivityId();
     }
 
@@ -58,38 +79,56 @@ public class ActivityServiceImpl implements ActivityService {
                              .map(ActivityMapper::toDTO)
                              .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error fetching activities: {}", se.getMessage(), se);
-            throw new StudentException("Error fetching activities: " + se.getMessage());
+            throw new StudentException("Error fetching activities", se);
         }
     }
 
     /**
-     * Updates an existing activity after validating for duplication.
+     * Updates the name and type of an existing activity after validating for duplication.
+     * Its enrollments are left as they are.
      *
      * @param activityDTO the activity data to update
-     * @throws StudentException if validation fails or update fails
+     * @throws StudentException if the activity is not found, validation fails or update fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void updateActivity(ActivityDTO activityDTO) throws StudentException {
+        Activity activity = activityRepository.findById(activityDTO.getActivityId())
+                .orElseThrow(() -> new StudentException(ErrorCode.ACTIVITY_NOT_FOUND, activityDTO.getActivityId()));
         validateDuplicateActivity(activityDTO, true);
 
-        Activity activity = ActivityMapper.toEntity(activityDTO);
-        activityRepository.save(activity);
+        // Merging the mapped DTO, which has no students, would delete the activity's student_activity rows
+        activity.setActivityName(activityDTO.getActivityName());
+        activity.setActivityType(activityDTO.getActivityType());
+        Activity updatedActivity = activityRepository.save(activity);
+        changeFeedService.recordChange(ChangeRecord.ACTIVITY, updatedActivity.getActivityId(), ChangeOperation.UPDATED,
+                ActivityMapper.toDTO(updatedActivity));
     }
 
     /**
      * Deletes an activity by its ID.
      *
      * @param activityId the ID of the activity to delete
-     * @throws StudentException if the delete operation fails
+     * @throws StudentException if the activity is not found, is still referenced or cannot be deleted
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void deleteActivity(int activityId) throws StudentException {
         try {
+            // deleteById silently ignores an unknown ID.
+            if (!activityRepository.existsById(activityId)) {
+                throw new StudentException(ErrorCode.ACTIVITY_NOT_FOUND, activityId);
+            }
             activityRepository.deleteById(activityId);
+            activityRepository.flush();
+            activityEnrollmentIndex.removeActivity(activityId);
+            changeFeedService.recordChange(ChangeRecord.ACTIVITY, activityId, ChangeOperation.DELETED, null);
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Activity");
         } catch (Exception se) {
-            logger.error("Error deleting activity: {}", se.getMessage(), se);
-            throw new StudentException("Error deleting activity: " + se.getMessage());
+            throw new StudentException("Error deleting activity", se);
         }
     }
 
@@ -108,8 +147,47 @@ public class ActivityServiceImpl implements ActivityService {
                              .map(ActivityMapper::toDTO)
                              .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error retrieving activities for student ID {}: {}", studentId, se.getMessage(), se);
-            throw new StudentException("Error retrieving activities for student ID " + studentId + ": " + se.getMessage());
+            throw new StudentException("Error retrieving activities for student ID " + studentId, se);
+        }
+    }
+
+    /**
+     * Answers a boolean enrollment query from the in-memory bitmap index.
+     *
+     * @param all activity IDs the students must all be enrolled in
+     * @param any activity IDs of which the students must be enrolled in at least one
+     * @param none activity IDs the students must not be enrolled in
+     * @param limit the maximum number of student IDs to return
+     * @return the match count and up to {@code limit} matching student IDs
+     * @throws StudentException if the index has not been built yet
+     */
+    @Override
+    public ActivityQueryResultDTO queryEnrollments(Collection<Integer> all, Collection<Integer> any,
+                                                   Collection<Integer> none, int limit) throws StudentException {
+        requireIndexReady();
+        RoaringBitmap students = activityEnrollmentIndex.query(all, any, none);
+        List<Integer> studentIds = students.stream()
+                                           .limit(Math.max(limit, 0))
+                                           .boxed()
+                                           .collect(Collectors.toList());
+        return new ActivityQueryResultDTO(students.getLongCardinality(), studentIds);
+    }
+
+    /**
+     * Returns the number of enrolled students per activity from the in-memory bitmap index.
+     *
+     * @return a map of activity ID to enrollment count
+     * @throws StudentException if the index has not been built yet
+     */
+    @Override
+    public Map<Integer, Long> countEnrollments() throws StudentException {
+        requireIndexReady();
+        return activityEnrollmentIndex.counts();
+    }
+
+    private void requireIndexReady() throws StudentException {
+        if (!activityEnrollmentIndex.isReady()) {
+            throw new StudentException(ErrorCode.NOT_READY, "Activity enrollment index");
         }
     }
 
@@ -148,11 +226,11 @@ public class ActivityServiceImpl implements ActivityService {
             String existingTypeSuffix = extractSuffix(activity.getActivityType().trim().toLowerCase());
     
             if (existingName.equals(newName)) {
-                throw new StudentException("Activity already exists with name: " + newName);
+                throw new StudentException(ErrorCode.DUPLICATE_ACTIVITY, newName);
             }
     
             if (existingName.equals(newName) && existingTypeSuffix.equals(newTypeSuffix)) {
-                throw new StudentException("Activity with name '" + newName + "' and type suffix '" + newTypeSuffix + "' already exists.");
+                throw new StudentException(ErrorCode.DUPLICATE_ACTIVITY_SUFFIX, newName, newTypeSuffix);
             }
         }
     }    
@@ -0,0 +1,259 @@
+package com.student.spring.service.impl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.spring.dto.ChangePageDTO;
+import com.student.spring.dto.ChangeRecordDTO;
+import com.student.spring.entity.ChangeFeedState;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.mapper.ChangeRecordMapper;
+import com.student.spring.repository.ChangeFeedStateRepository;
+import com.student.spring.repository.ChangeRecordRepository;
+import com.student.spring.service.ChangeFeedService;
+import com.student.spring.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation of the transactional outbox and change feed.
+ *
+ * Change records are inserted with MANDATORY propagation so they always commit or roll
+ * back together with the change they describe. Their insert-time sequence numbers are not
+ * exposed: a long transaction can commit a lower sequence after a consumer has moved past
+ * it. Instead a publishing pass, holding the lock on the change_feed_state row, gives the
+ * committed records that have no feed position yet the next positions in order, so
+ * positions only ever become visible in increasing order and readers page by position.
+ * The pass runs on a single background thread after each commit, coalesced under load,
+ * and is requested periodically as a fallback; scheduler threads only hand it over, so they
+ * are never held up by publishing. Listeners are called on that thread after the pass
+ * published something and must only signal the work to be done elsewhere.
+ */
+@Service
+@Observed(name = "service.method")
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private static final int PUBLISH_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ChangeRecordRepository changeRecordRepository;
+
+    @Autowired
+    private ChangeFeedStateRepository changeFeedStateRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${changes.retention-days:7}")
+    private int retentionDays;
+
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean notificationPending = new AtomicBoolean();
+
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(String entityType, int entityId, ChangeOperation operation, Object payload) {
+        ChangeRecord record = newRecord(entityType, entityId, operation);
+        if (payload != null) {
+            try {
+                record.setPayload(objectMapper.writeValueAsString(payload));
+            } catch (JsonProcessingException se) {
+                throw new IllegalStateException("Could not serialize change payload for " + entityType + " " + entityId, se);
+            }
+        }
+        changeRecordRepository.save(record);
+        TransactionUtil.afterCommit(this::scheduleNotification);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(String entityType, Collection<Integer> entityIds, ChangeOperation operation) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        List<ChangeRecord> records = entityIds.stream()
+                                              .map(entityId -> newRecord(entityType, entityId, operation))
+                                              .collect(Collectors.toList());
+        changeRecordRepository.saveAll(records);
+        TransactionUtil.afterCommit(this::scheduleNotification);
+    }
+
+    /**
+     * Retrieves the published changes after a feed position.
+     *
+     * @param after the last feed position already consumed
+     * @param limit the maximum number of changes to return
+     * @return the changes in position order and the new position
+     * @throws StudentException if retrieval fails
+     */
+    @Override
+    public ChangePageDTO getChanges(long after, int limit) throws StudentException {
+        try {
+            List<ChangeRecordDTO> changes = changeRecordRepository
+                    .findPublishedAfter(after, PageRequest.of(0, limit))
+                    .stream()
+                    .map(ChangeRecordMapper::toDTO)
+                    .collect(Collectors.toList());
+            long lastSequence = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSequence();
+            return new ChangePageDTO(changes, lastSequence);
+        } catch (IllegalArgumentException se) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, se.getMessage());
+        } catch (Exception se) {
+            throw new StudentException("Error fetching changes after position " + after, se);
+        }
+    }
+
+    @Override
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Requests a publishing pass periodically, which also picks up records committed by other
+     * instances. The pass runs on the notifier thread, as it does after commits.
+     */
+    @Scheduled(fixedDelayString = "${changes.publish-interval-ms:1000}",
+               initialDelayString = "${changes.publish-interval-ms:1000}")
+    public void publishPendingChanges() {
+        scheduleNotification();
+    }
+
+    // Gives the committed change records without a feed position their positions, chunk by
+    // chunk, and notifies the listeners if any were published
+    private void publish() {
+        int published = 0;
+        try {
+            Integer chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> publishChunk());
+                published += chunk;
+            } while (chunk == PUBLISH_CHUNK_SIZE);
+        } catch (Exception se) {
+            logger.error("Error publishing change records", se);
+        }
+        if (published > 0) {
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Deletes change records older than the retention period in small chunks.
+     */
+    @Scheduled(fixedDelayString = "${changes.purge-interval-ms:3600000}",
+               initialDelayString = "${changes.purge-interval-ms:3600000}")
+    public void purgeExpiredChanges() {
+        try {
+            Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+            int purged = 0;
+            List<Long> sequences;
+            do {
+                sequences = changeRecordRepository.findSequencesCreatedBefore(cutoff, PageRequest.of(0, PURGE_CHUNK_SIZE));
+                if (!sequences.isEmpty()) {
+                    purged += changeRecordRepository.deleteBySequences(sequences);
+                }
+            } while (sequences.size() == PURGE_CHUNK_SIZE);
+            if (purged > 0) {
+                logger.info("Purged {} change record(s) older than {}", purged, cutoff);
+            }
+        } catch (Exception se) {
+            logger.error("Error purging change records", se);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private ChangeRecord newRecord(String entityType, int entityId, ChangeOperation operation) {
+        ChangeRecord record = new ChangeRecord();
+        record.setEntityType(entityType);
+        record.setEntityId(entityId);
+        record.setOperation(operation);
+        record.setCreatedAt(Instant.now());
+        return record;
+    }
+
+    private int publishChunk() {
+        ChangeFeedState state = changeFeedStateRepository.findForUpdate(ChangeFeedState.ID)
+                                                         .orElseGet(this::createState);
+        List<ChangeRecord> records = changeRecordRepository.findUnpublished(PageRequest.of(0, PUBLISH_CHUNK_SIZE));
+        if (records.isEmpty()) {
+            return 0;
+        }
+        long position = state.getLastPosition();
+        for (ChangeRecord record : records) {
+            record.setPosition(++position);
+        }
+        state.setLastPosition(position);
+        return records.size();
+    }
+
+    private ChangeFeedState createState() {
+        changeRecordRepository.publishAtSequence();
+        Long lastPosition = changeRecordRepository.findMaxPosition();
+        return changeFeedStateRepository.save(
+                new ChangeFeedState(ChangeFeedState.ID, lastPosition != null ? lastPosition : 0L));
+    }
+
+    private void scheduleNotification() {
+        if (!notificationPending.compareAndSet(false, true)) {
+            return;
+        }
+        notifier.execute(() -> {
+            notificationPending.set(false);
+            publish();
+        });
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Exception se) {
+                logger.warn("Change listener failed", se);
+            }
+        }
+    }
+}
@@ -2,17 +2,24 @@ package com.student.spring.service.impl;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.GradeStatsDTO;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
 import com.student.spring.entity.Grade;
+import com.student.spring.exception.ErrorCode;
 import com.student.spring.exception.StudentException;
 import com.student.spring.mapper.GradeMapper;
 import com.student.spring.repository.GradeRepository;
+import com.student.spring.service.ChangeFeedService;
 import com.student.spring.service.GradeService;
+import com.student.spring.stats.GradeDistributionStats;
 
 /**
  * Service implementation class for managing grade-related operations.
@@ -22,30 +29,41 @@ import com.student.spring.service.GradeService;
  * associated with a specific student.
  */
 @Service
-@Transactional
+@Observed(name = "service.method")
+@Transactional(rollbackFor = StudentException.class)
 public class GradeServiceImpl implements GradeService {
 
-    private static final Logger logger = LoggerFactory.getLogger(GradeServiceImpl.class);
-
     @Autowired
     private GradeRepository gradeRepository;
 
+    @Autowired
+    private GradeDistributionStats gradeDistributionStats;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
     /**
      * Adds a new grade.
      *
      * @param gradeDTO the grade data to be added
      * @return the ID of the newly created grade
-     * @throws StudentException if the grade cannot be added
+     * @throws StudentException if the grade conflicts with existing data or cannot be added
      */
     @Override
     public int addGrade(GradeDTO gradeDTO) throws StudentException {
         try {
             Grade grade = GradeMapper.toEntity(gradeDTO);
-            Grade updatedGrade = gradeRepository.save(grade);
+            // The DTO's default ID of 0 would make save merge a row that does not exist.
+            grade.setGradeId(null);
+            Grade updatedGrade = gradeRepository.saveAndFlush(grade);
+            gradeDistributionStats.gradeSaved(updatedGrade.getGradeId(), updatedGrade.getGrade(), updatedGrade.getStandard());
+            changeFeedService.recordChange(ChangeRecord.GRADE, updatedGrade.getGradeId(), ChangeOperation.CREATED,
+                    GradeMapper.toDTO(updatedGrade));
             return updatedGrade.getGradeId();
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Grade");
         } catch (Exception se) {
-            logger.error("Error in adding student grade", se);
-            throw new StudentException("Error in adding student grade: " + se.getMessage());
+            throw new StudentException("Error in adding student grade", se);
         }
     }
 
@@ -64,8 +82,7 @@ public class GradeServiceImpl implements GradeService {
                          .map(GradeMapper::toDTO)
                          .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error in fetching student grade", se);
-            throw new StudentException("Error in fetching student grade: " + se.getMessage());
+            throw new StudentException("Error in fetching student grade", se);
         }
     }
 
@@ -83,8 +100,7 @@ public class GradeServiceImpl implements GradeService {
                          .map(GradeMapper::toDTO)
                          .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error in fetching all grades", se);
-            throw new StudentException("Error in fetching all grades: " + se.getMessage());
+            throw new StudentException("Error in fetching all grades", se);
         }
     }
 
@@ -92,16 +108,27 @@ public class GradeServiceImpl implements GradeService {
      * Updates an existing grade.
      *
      * @param gradeDTO the updated grade data
-     * @throws StudentException if the grade cannot be updated
+     * @throws StudentException if the grade is not found, the change conflicts with existing data
+     *         or the grade cannot be updated
      */
     @Override
     public void updateGrade(GradeDTO gradeDTO) throws StudentException {
         try {
+            // Without this check, saving a grade whose ID does not exist would insert a new row.
+            if (!gradeRepository.existsById(gradeDTO.getGradeId())) {
+                throw new StudentException(ErrorCode.GRADE_NOT_FOUND, gradeDTO.getGradeId());
+            }
             Grade grade = GradeMapper.toEntity(gradeDTO);
-            gradeRepository.save(grade);
+            Grade updatedGrade = gradeRepository.saveAndFlush(grade);
+            gradeDistributionStats.gradeSaved(updatedGrade.getGradeId(), updatedGrade.getGrade(), updatedGrade.getStandard());
+            changeFeedService.recordChange(ChangeRecord.GRADE, updatedGrade.getGradeId(), ChangeOperation.UPDATED,
+                    GradeMapper.toDTO(updatedGrade));
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Grade");
         } catch (Exception se) {
-            logger.error("Error in updating student grade", se);
-            throw new StudentException("Error in updating student grade: " + se.getMessage());
+            throw new StudentException("Error in updating student grade", se);
         }
     }
 
@@ -109,16 +136,42 @@ public class GradeServiceImpl implements GradeService {
      * Deletes a grade by its ID.
      *
      * @param gradeId the ID of the grade to delete
-     * @throws StudentException if the grade cannot be deleted
+     * @throws StudentException if the grade is not found, is still assigned to students or cannot be deleted
      */
     @Override
     public void deleteGrade(int gradeId) throws StudentException {
         try {
+            // deleteById silently ignores an unknown ID.
+            if (!gradeRepository.existsById(gradeId)) {
+                throw new StudentException(ErrorCode.GRADE_NOT_FOUND, gradeId);
+            }
             gradeRepository.deleteById(gradeId);
+            gradeRepository.flush();
+            gradeDistributionStats.gradeRemoved(gradeId);
+            changeFeedService.recordChange(ChangeRecord.GRADE, gradeId, ChangeOperation.DELETED, null);
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Grade");
         } catch (Exception se) {
-            logger.error("Error in deleting student grade", se);
-            throw new StudentException("Error in deleting student grade: " + se.getMessage());
+            throw new StudentException("Error in deleting student grade", se);
+        }
+    }
+
+    /**
+     * Returns the student distribution over grade letters and standards from the
+     * in-memory counters.
+     *
+     * @return the current grade distribution
+     * @throws StudentException if the counters have not been seeded yet
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public GradeStatsDTO getGradeStats() throws StudentException {
+        if (!gradeDistributionStats.isSeeded()) {
+            throw new StudentException(ErrorCode.NOT_READY, "Grade statistics");
         }
+        return gradeDistributionStats.snapshot();
     }
 }
 
@@ -0,0 +1,537 @@
+package com.student.spring.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.student.spring.dto.ImportJobDTO;
+import com.student.spring.dto.StudentInputDTO;
+import com.student.spring.entity.Activity;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
+import com.student.spring.entity.Grade;
+import com.student.spring.entity.ImportJob;
+import com.student.spring.entity.ImportJobStatus;
+import com.student.spring.entity.ImportRowError;
+import com.student.spring.entity.Membership;
+import com.student.spring.entity.Student;
+import com.student.spring.exception.DuplicateStudentException;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.index.ActivityEnrollmentIndex;
+import com.student.spring.index.DuplicateStudentIndex;
+import com.student.spring.index.StudentSearchIndex;
+import com.student.spring.mapper.DateMapper;
+import com.student.spring.mapper.ImportJobMapper;
+import com.student.spring.mapper.StudentMapper;
+import com.student.spring.repository.ActivityRepository;
+import com.student.spring.repository.GradeRepository;
+import com.student.spring.repository.ImportJobRepository;
+import com.student.spring.repository.ImportRowErrorRepository;
+import com.student.spring.repository.MembershipRepository;
+import com.student.spring.repository.StudentRepository;
+import com.student.spring.service.ChangeFeedService;
+import com.student.spring.service.ImportService;
+import com.student.spring.stats.GradeDistributionStats;
+import com.student.spring.util.CsvReader;
+import com.student.spring.util.Validator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation of the background student import.
+ *
+ * Uploaded files are stored on disk and read by a worker thread as a stream, one chunk of
+ * rows at a time. Each chunk is validated, its grade, membership and activity references
+ * are loaded with one query per entity type, and its students are saved in one transaction
+ * together with the rejected rows and the job's row counters. A job interrupted by a
+ * restart therefore resumes after the last committed chunk. When a chunk fails in the
+ * database, it is retried row by row so that only the offending rows are rejected.
+ */
+@Service
+@Observed(name = "service.method")
+public class ImportServiceImpl implements ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+    private static final List<String> STUDENT_COLUMNS = List.of("firstName", "lastName", "phoneNo", "email",
+            "address", "dob", "gradeId", "membershipId", "activityIds");
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DuplicateStudentIndex duplicateStudentIndex;
+
+    @Autowired
+    private ActivityEnrollmentIndex activityEnrollmentIndex;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private GradeDistributionStats gradeDistributionStats;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${imports.storage-dir:${java.io.tmpdir}/student-imports}")
+    private String storageDir;
+
+    @Value("${imports.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${imports.worker-threads:1}")
+    private int workerThreads;
+
+    private ExecutorService workers;
+
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "student-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        workers.shutdownNow();
+    }
+
+    /**
+     * Requeues the jobs that were queued or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeImports() {
+        try {
+            List<ImportJob> unfinished = importJobRepository.findByStatusInOrderByJobId(
+                    List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+            for (ImportJob job : unfinished) {
+                logger.info("Resuming import job {} after row {}", job.getJobId(), job.getProcessedRows());
+                submit(job.getJobId());
+            }
+        } catch (Exception se) {
+            logger.error("Error resuming import jobs", se);
+        }
+    }
+
+    @Override
+    public ImportJobDTO createStudentImport(String fileName, InputStream content) throws StudentException {
+        Path stored = null;
+        ImportJob saved;
+        try {
+            Path directory = Paths.get(storageDir);
+            Files.createDirectories(directory);
+            stored = Files.createTempFile(directory, "students-", ".csv");
+            Files.copy(content, stored, StandardCopyOption.REPLACE_EXISTING);
+
+            ImportJob job = new ImportJob();
+            job.setFileName(fileName);
+            job.setStoredPath(stored.toAbsolutePath().toString());
+            job.setStatus(ImportJobStatus.QUEUED);
+            job.setCreatedAt(Instant.now());
+            saved = importJobRepository.save(job);
+        } catch (Exception se) {
+            deleteQuietly(stored);
+            throw new StudentException("Error storing import file", se);
+        }
+        submit(saved.getJobId());
+        logger.info("Queued import job {} for file {}", saved.getJobId(), fileName);
+        return ImportJobMapper.toDTO(saved, List.of());
+    }
+
+    @Override
+    public ImportJobDTO getImportJob(long jobId, long afterRow, int limit) throws StudentException {
+        try {
+            ImportJob job = importJobRepository.findById(jobId)
+                    .orElseThrow(() -> new StudentException(ErrorCode.RESOURCE_NOT_FOUND, "Import job", jobId));
+            List<ImportRowError> errors = limit > 0
+                    ? importRowErrorRepository.findErrorsAfter(jobId, afterRow, PageRequest.of(0, limit))
+                    : List.of();
+            return ImportJobMapper.toDTO(job, errors);
+        } catch (StudentException se) {
+            throw se;
+        } catch (Exception se) {
+            throw new StudentException("Error fetching import job " + jobId, se);
+        }
+    }
+
+    private void submit(long jobId) {
+        workers.execute(() -> runJob(jobId));
+    }
+
+    private void runJob(long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+            return;
+        }
+        Path file = Paths.get(job.getStoredPath());
+        try {
+            if (job.getTotalRows() == null) {
+                job.setTotalRows(countDataRows(file));
+            }
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(Instant.now());
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+            importJobRepository.save(job);
+
+            try (CsvReader csv = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                Map<String, Integer> columns = columnPositions(csv.readRecord());
+                long rowNumber = csv.skipRecords(job.getProcessedRows());
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+                List<String> record;
+                while ((record = csv.readRecord()) != null) {
+                    chunk.add(new ImportRow(++rowNumber, record));
+                    if (chunk.size() == chunkSize) {
+                        if (shuttingDown) {
+                            return;
+                        }
+                        importChunk(jobId, columns, chunk);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty() && !shuttingDown) {
+                    importChunk(jobId, columns, chunk);
+                }
+            }
+            if (shuttingDown) {
+                return;
+            }
+            finishJob(jobId, ImportJobStatus.COMPLETED, null);
+            deleteQuietly(file);
+        } catch (StudentException | IOException se) {
+            logger.warn("Import job {} failed: {}", jobId, se.getMessage());
+            finishJob(jobId, ImportJobStatus.FAILED, se.getMessage());
+        } catch (Exception se) {
+            if (shuttingDown) {
+                logger.info("Import job {} interrupted by shutdown; it resumes on the next start", jobId);
+                return;
+            }
+            logger.error("Import job {} failed", jobId, se);
+            finishJob(jobId, ImportJobStatus.FAILED, "Unexpected error: " + se.getMessage());
+        }
+    }
+
+    private void importChunk(long jobId, Map<String, Integer> columns, List<ImportRow> rows) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> importRows(jobId, columns, rows));
+        } catch (RuntimeException se) {
+            if (rows.size() == 1) {
+                ImportRow row = rows.get(0);
+                logger.debug("Row {} of import job {} could not be saved", row.number(), jobId, se);
+                transactionTemplate.executeWithoutResult(status -> recordProgress(jobId, 1, 0,
+                        List.of(newError(jobId, row.number(), "Could not be saved: " + rootMessage(se)))));
+                return;
+            }
+            logger.warn("Chunk of import job {} failed at the database, retrying row by row: {}", jobId, rootMessage(se));
+            for (ImportRow row : rows) {
+                importChunk(jobId, columns, List.of(row));
+            }
+        }
+    }
+
+    // Runs inside the chunk transaction
+    private void importRows(long jobId, Map<String, Integer> columns, List<ImportRow> rows) {
+        List<ImportRowError> errors = new ArrayList<>();
+        Map<Long, StudentInputDTO> inputs = new HashMap<>();
+        for (ImportRow row : rows) {
+            List<String> problems = new ArrayList<>();
+            StudentInputDTO input = parseRow(row.values(), columns, problems);
+            if (problems.isEmpty()) {
+                problems.addAll(Validator.studentInputErrors(input));
+            }
+            if (problems.isEmpty()) {
+                inputs.put(row.number(), input);
+            } else {
+                errors.add(newError(jobId, row.number(), String.join(", ", problems)));
+            }
+        }
+
+        Map<Integer, Grade> grades = loadById(inputs.values().stream().map(StudentInputDTO::getGradeId),
+                gradeRepository::findAllById, Grade::getGradeId);
+        Map<Integer, Membership> memberships = loadById(inputs.values().stream().map(StudentInputDTO::getMembershipId),
+                membershipRepository::findAllById, Membership::getMembershipId);
+        Map<Integer, Activity> activities = loadById(inputs.values().stream().flatMap(input -> input.getActivityIds().stream()),
+                activityRepository::findAllById, Activity::getActivityId);
+
+        int imported = 0;
+        Map<Integer, Long> membershipRows = new HashMap<>();
+        for (ImportRow row : rows) {
+            StudentInputDTO input = inputs.get(row.number());
+            if (input == null) {
+                continue;
+            }
+            String problem = unresolvedReference(input, grades, memberships, activities);
+            if (problem != null) {
+                errors.add(newError(jobId, row.number(), problem));
+                continue;
+            }
+            Long sameMembershipRow = membershipRows.putIfAbsent(input.getMembershipId(), row.number());
+            if (sameMembershipRow != null) {
+                errors.add(newError(jobId, row.number(),
+                        "Membership " + input.getMembershipId() + " is already used by row " + sameMembershipRow));
+                continue;
+            }
+            Student student = toStudent(input, grades, memberships, activities);
+            try {
+                duplicateStudentIndex.check(student);
+            } catch (DuplicateStudentException se) {
+                errors.add(newError(jobId, row.number(),
+                        "Possible duplicate of student(s) " + se.getDuplicateStudentIds()));
+                continue;
+            }
+            Student saved = studentRepository.save(student);
+            duplicateStudentIndex.add(saved);
+            activityEnrollmentIndex.setEnrollments(saved.getStudentId(), input.getActivityIds());
+            studentSearchIndex.put(saved);
+            gradeDistributionStats.studentAdded(input.getGradeId());
+            changeFeedService.recordChange(ChangeRecord.STUDENT, saved.getStudentId(), ChangeOperation.CREATED,
+                    StudentMapper.toDTO(saved));
+            imported++;
+        }
+        recordProgress(jobId, rows.size(), imported, errors);
+    }
+
+    private void recordProgress(long jobId, int processed, int imported, List<ImportRowError> errors) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Import job " + jobId + " no longer exists"));
+        job.setProcessedRows(job.getProcessedRows() + processed);
+        job.setImportedRows(job.getImportedRows() + imported);
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        importRowErrorRepository.saveAll(errors);
+    }
+
+    private void finishJob(long jobId, ImportJobStatus status, String message) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> importJobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(status);
+                job.setMessage(truncate(message));
+                job.setFinishedAt(Instant.now());
+            }));
+            logger.info("Import job {} finished with status {}", jobId, status);
+        } catch (Exception se) {
+            logger.error("Error finishing import job {}", jobId, se);
+        }
+    }
+
+    private StudentInputDTO parseRow(List<String> values, Map<String, Integer> columns, List<String> problems) {
+        StudentInputDTO input = new StudentInputDTO();
+        input.setFirstName(value(values, columns, "firstName"));
+        input.setLastName(value(values, columns, "lastName"));
+        input.setPhoneNo(value(values, columns, "phoneNo"));
+        input.setEmail(value(values, columns, "email"));
+        input.setAddress(value(values, columns, "address"));
+
+        String dob = value(values, columns, "dob");
+        if (dob != null) {
+            input.setDob(Validator.parseLocalDate(dob));
+            if (input.getDob() == null) {
+                problems.add("dob: Date of Birth must be a valid yyyy-MM-dd date");
+            }
+        }
+        input.setGradeId(parseId(value(values, columns, "gradeId"), "gradeId", problems));
+        input.setMembershipId(parseId(value(values, columns, "membershipId"), "membershipId", problems));
+
+        String activityIds = value(values, columns, "activityIds");
+        if (activityIds != null) {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (String id : activityIds.split(";")) {
+                if (!id.isBlank()) {
+                    ids.add(parseId(id.trim(), "activityIds", problems));
+                }
+            }
+            ids.remove(null);
+            input.setActivityIds(ids);
+        }
+        return input;
+    }
+
+    private static Integer parseId(String value, String column, List<String> problems) {
+        if (value == null) {
+            return null;
+        }
+        if (!Validator.isValidInteger(value)) {
+            problems.add(column + ": '" + value + "' is not a number");
+            return null;
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        int position = columns.get(column);
+        if (position >= values.size()) {
+            return null;
+        }
+        String value = values.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String unresolvedReference(StudentInputDTO input, Map<Integer, Grade> grades,
+                                              Map<Integer, Membership> memberships, Map<Integer, Activity> activities) {
+        if (!grades.containsKey(input.getGradeId())) {
+            return "Grade not found with ID: " + input.getGradeId();
+        }
+        if (!memberships.containsKey(input.getMembershipId())) {
+            return "Membership not found with ID: " + input.getMembershipId();
+        }
+        for (Integer activityId : input.getActivityIds()) {
+            if (!activities.containsKey(activityId)) {
+                return "Activity not found with ID: " + activityId;
+            }
+        }
+        return null;
+    }
+
+    private static Student toStudent(StudentInputDTO input, Map<Integer, Grade> grades,
+                                     Map<Integer, Membership> memberships, Map<Integer, Activity> activities) {
+        Student student = new Student();
+        student.setFirstName(input.getFirstName());
+        student.setLastName(input.getLastName());
+        student.setPhoneNo(input.getPhoneNo());
+        student.setEmail(input.getEmail());
+        student.setAddress(input.getAddress());
+        student.setDob(DateMapper.toSqlDate(input.getDob()));
+        student.setGrade(grades.get(input.getGradeId()));
+        student.setMembership(memberships.get(input.getMembershipId()));
+        student.setActivities(input.getActivityIds().stream()
+                                   .map(activities::get)
+                                   .collect(Collectors.toCollection(HashSet::new)));
+        return student;
+    }
+
+    private static <T> Map<Integer, T> loadById(Stream<Integer> ids,
+                                                Function<Set<Integer>, List<T>> finder,
+                                                Function<T, Integer> idOf) {
+        Set<Integer> distinct = ids.collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(distinct).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    // Maps each expected column to its position in the header, matching names case-insensitively
+    private static Map<String, Integer> columnPositions(List<String> header) throws StudentException {
+        if (header == null) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "the file is empty");
+        }
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String column : STUDENT_COLUMNS) {
+            Integer position = byName.get(column.toLowerCase(Locale.ROOT));
+            if (position == null) {
+                missing.add(column);
+            } else {
+                positions.put(column, position);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "missing column(s) in header: " + String.join(", ", missing));
+        }
+        return positions;
+    }
+
+    private static long countDataRows(Path file) throws IOException {
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            return Math.max(0, csv.skipRecords(Long.MAX_VALUE) - 1);
+        }
+    }
+
+    private static ImportRowError newError(long jobId, long rowNumber, String message) {
+        ImportRowError error = new ImportRowError();
+        error.setJobId(jobId);
+        error.setRowNumber(rowNumber);
+        error.setMessage(truncate(message));
+        return error;
+    }
+
+    // The first line of the innermost cause, which names the violated constraint without the SQL
+    private static String rootMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = String.valueOf(root.getMessage());
+        int lineEnd = message.indexOf('\n');
+        return lineEnd < 0 ? message : message.substring(0, lineEnd).trim();
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException se) {
+            logger.warn("Could not delete import file {}", file, se);
+        }
+    }
+
+    /**
+     * One data row of an import file and its 1-based number.
+     */
+    private record ImportRow(long number, List<String> values) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.student.spring.service.impl;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
+import com.student.spring.event.MembershipExpiredEvent;
+import com.student.spring.repository.MembershipRepository;
+import com.student.spring.service.ChangeFeedService;
+import com.student.spring.service.MembershipExpiryService;
+
+/**
+ * Service implementation of the scheduled membership expiry sweep.
+ *
+ * Each run seeks through the (expired, expiryDate) index in expiry order and expires
+ * memberships in bounded chunks. Every chunk is read, updated with one set-based UPDATE
+ * and published in its own short transaction, so row locks are never held across chunks
+ * and a run can be stopped after a fixed amount of work and resumed by the next one.
+ * The candidates of a chunk are locked as they are read, skipping rows another transaction
+ * holds, so no renewal or other instance can change them before the UPDATE; exactly the
+ * rows read are expired, recorded in the change feed and published as events.
+ */
+@Service
+@Observed(name = "service.method")
+public class MembershipExpiryServiceImpl implements MembershipExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipExpiryServiceImpl.class);
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${membership.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${membership.expiry.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    /**
+     * Periodically expires memberships whose expiry date lies before today.
+     */
+    @Scheduled(fixedDelayString = "${membership.expiry.sweep-interval-ms:60000}",
+               initialDelayString = "${membership.expiry.initial-delay-ms:30000}")
+    public void sweepExpiredMemberships() {
+        try {
+            int expired = expireMemberships(LocalDate.now());
+            if (expired > 0) {
+                logger.info("Membership expiry sweep expired {} membership(s)", expired);
+            }
+        } catch (Exception se) {
+            logger.error("Membership expiry sweep failed", se);
+        }
+    }
+
+    /**
+     * Expires memberships chunk by chunk until no candidates remain or the
+     * per-run chunk budget is exhausted.
+     *
+     * @param asOf the first day on which memberships are still valid
+     * @return the number of memberships marked as expired
+     */
+    @Override
+    public int expireMemberships(LocalDate asOf) {
+        Date cutoff = Date.valueOf(asOf);
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer expired = transactionTemplate.execute(status -> expireChunk(cutoff));
+            total += expired;
+            if (expired < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int expireChunk(Date cutoff) {
+        List<MembershipExpiredEvent> candidates =
+                membershipRepository.findExpiryCandidates(cutoff, PageRequest.of(0, chunkSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = candidates.stream()
+                                      .map(MembershipExpiredEvent::membershipId)
+                                      .collect(Collectors.toList());
+        int updated = membershipRepository.markExpired(ids);
+        if (updated != ids.size()) {
+            // The locked rows cannot have changed; roll back rather than publish expiries that did not happen
+            throw new IllegalStateException("Expired " + updated + " of " + ids.size() + " locked memberships");
+        }
+        changeFeedService.recordChanges(ChangeRecord.MEMBERSHIP, ids, ChangeOperation.UPDATED);
+        candidates.forEach(eventPublisher::publishEvent);
+
+        logger.debug("Expired {} membership(s) up to expiry date {}", updated,
+                candidates.get(candidates.size() - 1).expiryDate());
+        return updated;
+    }
+}
@@ -1,17 +1,45 @@
 package com.student.spring.service.impl;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.student.spring.dto.MembershipDTO;
+import com.student.spring.dto.MembershipPageDTO;
+import com.student.spring.dto.MembershipRenewalRequestDTO;
+import com.student.spring.dto.MembershipRenewalResultDTO;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
 import com.student.spring.entity.Membership;
+import com.student.spring.exception.ErrorCode;
 import com.student.spring.exception.StudentException;
+import com.student.spring.mapper.DateMapper;
 import com.student.spring.mapper.MembershipMapper;
+import com.student.spring.repository.MembershipRenewalRepository;
 import com.student.spring.repository.MembershipRepository;
+import com.student.spring.repository.SparseFieldsetRepository;
+import com.student.spring.service.ChangeFeedService;
 import com.student.spring.service.MembershipService;
+import com.student.spring.util.ExpiryCursor;
+import com.student.spring.util.MembershipTerms;
 
 /**
  * Service implementation class for managing membership-related operations.
@@ -21,6 +49,7 @@ import com.student.spring.service.MembershipService;
  * membership ID or associated student ID.
  */
 @Service
+@Observed(name = "service.method")
 public class MembershipServiceImpl implements MembershipService {
 
     private static final Logger logger = LoggerFactory.getLogger(MembershipServiceImpl.class);
@@ -28,22 +57,41 @@ public class MembershipServiceImpl implements MembershipService {
     @Autowired
     private MembershipRepository membershipRepository;
 
+    @Autowired
+    private MembershipRenewalRepository membershipRenewalRepository;
+
+    @Autowired
+    private SparseFieldsetRepository sparseFieldsetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${membership.renewal.chunk-size:500}")
+    private int renewalChunkSize;
+
     /**
      * Adds a new membership.
      *
      * @param membershipDTO the membership data to be added
      * @return the ID of the newly created membership
-     * @throws StudentException if the membership cannot be saved
+     * @throws StudentException if the membership conflicts with existing data or cannot be saved
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public int addMembership(MembershipDTO membershipDTO) throws StudentException {
         try {
             Membership membership = MembershipMapper.toEntity(membershipDTO);
-            Membership newMembership = membershipRepository.save(membership);
+            Membership newMembership = membershipRepository.saveAndFlush(membership);
+            changeFeedService.recordChange(ChangeRecord.MEMBERSHIP, newMembership.getMembershipId(),
+                    ChangeOperation.CREATED, MembershipMapper.toDTO(newMembership));
             return newMembership.getMembershipId();
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Membership");
         } catch (Exception se) {
-            logger.error("Error in adding membership: {}", se);
-            throw new StudentException("Error in adding membership: " + se.getMessage());
+            throw new StudentException("Error in adding membership", se);
         }
     }
 
@@ -58,11 +106,12 @@ public class MembershipServiceImpl implements MembershipService {
     public MembershipDTO getMembershipByStudentId(int studentId) throws StudentException {
         try {
             Membership membership = membershipRepository.findByStudentStudentId(studentId)
-                .orElseThrow(() -> new StudentException("Membership not found for Student ID: " + studentId));
+                .orElseThrow(() -> new StudentException(ErrorCode.STUDENT_MEMBERSHIP_NOT_FOUND, studentId));
             return MembershipMapper.toDTO(membership);
+        } catch (StudentException se) {
+            throw se;
         } catch (Exception se) {
-            logger.error("Error retrieving membership for student ID: {}", studentId, se);
-            throw new StudentException("Error retrieving membership for student ID " + studentId + ": " + se.getMessage());
+            throw new StudentException("Error retrieving membership for student ID " + studentId, se);
         }
     }
 
@@ -75,13 +124,12 @@ public class MembershipServiceImpl implements MembershipService {
     @Override
     public List<MembershipDTO> getAllMemberships() throws StudentException {
         try {
-            List<Membership> memberships = membershipRepository.findAll();
+            List<Membership> memberships = membershipRepository.findAllWithStudent();
             return memberships.stream()
                 .map(MembershipMapper::toDTO)
                 .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error retrieving all memberships: {}", se);
-            throw new StudentException("Error retrieving all memberships: " + se.getMessage());
+            throw new StudentException("Error retrieving all memberships", se);
         }
     }
 
@@ -96,11 +144,50 @@ public class MembershipServiceImpl implements MembershipService {
     public MembershipDTO getMembershipById(int membershipId) throws StudentException {
         try {
             Membership membership = membershipRepository.findById(membershipId)
-                .orElseThrow(() -> new StudentException("Membership not found for ID: " + membershipId));
+                .orElseThrow(() -> new StudentException(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipId));
             return MembershipMapper.toDTO(membership);
+        } catch (StudentException se) {
+            throw se;
         } catch (Exception se) {
-            logger.error("Error retrieving membership for membership ID: {}", membershipId, se);
-            throw new StudentException("Error retrieving membership for membership ID " + membershipId + ": " + se.getMessage());
+            throw new StudentException("Error retrieving membership for membership ID " + membershipId, se);
+        }
+    }
+
+    /**
+     * Retrieves the requested fields of all memberships with a projection query.
+     *
+     * @param fields the requested field names
+     * @return one map of field values per membership, in ID order
+     * @throws StudentException if a field name is unknown or retrieval fails
+     */
+    @Override
+    public List<Map<String, Object>> getAllMembershipFields(List<String> fields) throws StudentException {
+        try {
+            return sparseFieldsetRepository.findMemberships(fields, null);
+        } catch (InvalidDataAccessApiUsageException se) {
+            throw new StudentException(ErrorCode.INVALID_FIELDS, se.getMessage());
+        } catch (Exception se) {
+            throw new StudentException("Error retrieving membership fields", se);
+        }
+    }
+
+    /**
+     * Retrieves the requested fields of one membership with a projection query.
+     *
+     * @param membershipId the membership ID
+     * @param fields the requested field names
+     * @return the map of field values, or null if not found
+     * @throws StudentException if a field name is unknown or retrieval fails
+     */
+    @Override
+    public Map<String, Object> getMembershipFieldsById(int membershipId, List<String> fields) throws StudentException {
+        try {
+            List<Map<String, Object>> memberships = sparseFieldsetRepository.findMemberships(fields, membershipId);
+            return memberships.isEmpty() ? null : memberships.get(0);
+        } catch (InvalidDataAccessApiUsageException se) {
+            throw new StudentException(ErrorCode.INVALID_FIELDS, se.getMessage());
+        } catch (Exception se) {
+            throw new StudentException("Error retrieving fields of membership " + membershipId, se);
         }
     }
 
@@ -108,16 +195,27 @@ public class MembershipServiceImpl implements MembershipService {
      * Updates an existing membership.
      *
      * @param membershipDTO the updated membership data
-     * @throws StudentException if the update operation fails
+     * @throws StudentException if the membership is not found, the change conflicts with existing data
+     *         or the update operation fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void updateMembership(MembershipDTO membershipDTO) throws StudentException {
         try {
+            // Without this check, saving a membership whose ID does not exist would insert a new row.
+            if (!membershipRepository.existsById(membershipDTO.getMembershipId())) {
+                throw new StudentException(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipDTO.getMembershipId());
+            }
             Membership membership = MembershipMapper.toEntity(membershipDTO);
-            membershipRepository.save(membership);
+            Membership updatedMembership = membershipRepository.saveAndFlush(membership);
+            changeFeedService.recordChange(ChangeRecord.MEMBERSHIP, updatedMembership.getMembershipId(),
+                    ChangeOperation.UPDATED, MembershipMapper.toDTO(updatedMembership));
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Membership");
         } catch (Exception se) {
-            logger.error("Error updating membership: {}", se);
-            throw new StudentException("Error updating membership: " + se.getMessage());
+            throw new StudentException("Error updating membership", se);
         }
     }
 
@@ -125,16 +223,181 @@ public class MembershipServiceImpl implements MembershipService {
      * Deletes a membership by its ID.
      *
      * @param membershipId the ID of the membership to delete
-     * @throws StudentException if the delete operation fails
+     * @throws StudentException if the membership is not found, is still referenced or the delete operation fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void deleteMembership(int membershipId) throws StudentException {
         try {
+            // deleteById silently ignores an unknown ID.
+            if (!membershipRepository.existsById(membershipId)) {
+                throw new StudentException(ErrorCode.MEMBERSHIP_NOT_FOUND, membershipId);
+            }
             membershipRepository.deleteById(membershipId);
+            membershipRepository.flush();
+            changeFeedService.recordChange(ChangeRecord.MEMBERSHIP, membershipId, ChangeOperation.DELETED, null);
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Membership");
         } catch (Exception se) {
-            logger.error("Error deleting membership: {}", se);
-            throw new StudentException("Error deleting membership: " + se.getMessage());
+            throw new StudentException("Error deleting membership", se);
         }
     }
-}
 
+    /**
+     * Retrieves memberships expiring within a window as an index range scan with keyset
+     * pagination. The cursor has the form {@code yyyy-MM-dd_membershipId} and marks the
+     * last row of the previous page, so every page is a bounded seek instead of an offset scan.
+     * A cursor whose expiry date lies outside the window is rejected as INVALID_CURSOR.
+     *
+     * @param from the first expiry date to include
+     * @param to the last expiry date to include
+     * @param membershipType the membership type to filter on, or null for all types
+     * @param cursor the cursor returned with the previous page, or null
+     * @param limit the maximum number of memberships to return
+     * @return the page of memberships and the cursor for the next page
+     * @throws StudentException if the window or cursor is invalid or retrieval fails
+     */
+    @Override
+    public MembershipPageDTO getExpiringMemberships(LocalDate from, LocalDate to, String membershipType,
+                                                    String cursor, int limit) throws StudentException {
+        if (from.isAfter(to)) {
+            throw new StudentException(ErrorCode.INVALID_EXPIRY_WINDOW, from, to);
+        }
+        if (limit < 1) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "limit must be positive");
+        }
+
+        // Starting just before the first row of the window makes the keyset predicate cover "expiryDate >= from".
+        Date afterDate = Date.valueOf(from);
+        int afterId = Integer.MIN_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            ExpiryCursor after = ExpiryCursor.parse(cursor, from, to);
+            afterDate = Date.valueOf(after.expiryDate());
+            afterId = after.membershipId();
+        }
+
+        try {
+            PageRequest page = PageRequest.of(0, limit);
+            List<MembershipDTO> memberships = (membershipType == null || membershipType.isBlank())
+                    ? membershipRepository.findExpiringAfter(Date.valueOf(to), afterDate, afterId, page)
+                    : membershipRepository.findExpiringByTypeAfter(membershipType, Date.valueOf(to), afterDate, afterId, page);
+
+            String nextCursor = null;
+            if (memberships.size() == limit) {
+                MembershipDTO last = memberships.get(memberships.size() - 1);
+                nextCursor = new ExpiryCursor(last.getExpiryDate(), last.getMembershipId()).toString();
+            }
+            return new MembershipPageDTO(memberships, nextCursor);
+        } catch (Exception se) {
+            throw new StudentException("Error retrieving expiring memberships", se);
+        }
+    }
+
+    /**
+     * Renews memberships selected either by ID list or by selector. Matching memberships are
+     * read in chunks of IDs and each chunk is renewed in its own transaction with one set-based
+     * UPDATE per membership type, using the same term lengths as new memberships. If a chunk
+     * fails, the renewal stops there and the result reports the chunks committed before it.
+     *
+     * @param request the ID list or selector of memberships to renew
+     * @return the matched, renewed and skipped counts
+     * @throws StudentException if the request is invalid
+     */
+    @Override
+    public MembershipRenewalResultDTO renewMemberships(MembershipRenewalRequestDTO request) throws StudentException {
+        boolean byIds = isNotEmpty(request.getMembershipIds()) || isNotEmpty(request.getStudentIds());
+        boolean bySelector = request.getMembershipType() != null || request.getExpiringFrom() != null
+                || request.getExpiringTo() != null || request.getGradeId() != null || request.getStandard() != null;
+        if (byIds == bySelector) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "provide either membershipIds/studentIds or a selector "
+                    + "(membershipType, expiringFrom, expiringTo, gradeId, standard), but not both");
+        }
+
+        LocalDate today = LocalDate.now();
+        MembershipRenewalResultDTO result = new MembershipRenewalResultDTO(0, 0, 0, new TreeMap<>(), false, null);
+        try {
+            if (byIds) {
+                Set<Integer> seen = new HashSet<>();
+                renewIdChunks(request.getMembershipIds(), membershipRepository::findRenewalCandidatesByIds, seen, today, result);
+                renewIdChunks(request.getStudentIds(), membershipRepository::findRenewalCandidatesByStudentIds, seen, today, result);
+            } else {
+                int afterId = Integer.MIN_VALUE;
+                List<MembershipDTO> chunk;
+                do {
+                    chunk = membershipRenewalRepository.findRenewalCandidates(request.getMembershipType(),
+                            DateMapper.toSqlDate(request.getExpiringFrom()), DateMapper.toSqlDate(request.getExpiringTo()),
+                            request.getGradeId(), request.getStandard(), afterId, renewalChunkSize);
+                    renewChunk(chunk, today, result);
+                    if (!chunk.isEmpty()) {
+                        afterId = chunk.get(chunk.size() - 1).getMembershipId();
+                    }
+                } while (chunk.size() == renewalChunkSize);
+            }
+            result.setCompleted(true);
+        } catch (Exception se) {
+            logger.error("Bulk renewal stopped after {} renewed membership(s)", result.getRenewed(), se);
+            result.setFailure("Error renewing memberships");
+        }
+        logger.info("Renewed {} of {} matched membership(s), skipped {}", result.getRenewed(), result.getMatched(),
+                result.getSkipped());
+        return result;
+    }
+
+    private void renewIdChunks(List<Integer> ids, Function<List<Integer>, List<MembershipDTO>> loader,
+                               Set<Integer> seen, LocalDate today, MembershipRenewalResultDTO result) {
+        if (!isNotEmpty(ids)) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += renewalChunkSize) {
+            List<Integer> idChunk = ids.subList(from, Math.min(from + renewalChunkSize, ids.size()));
+            List<MembershipDTO> chunk = loader.apply(idChunk).stream()
+                    .filter(membership -> seen.add(membership.getMembershipId()))
+                    .collect(Collectors.toList());
+            renewChunk(chunk, today, result);
+        }
+    }
+
+    // Counts are added to the result only once the chunk's transaction has committed
+    private void renewChunk(List<MembershipDTO> chunk, LocalDate today, MembershipRenewalResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, List<Integer>> idsByType = new LinkedHashMap<>();
+        for (MembershipDTO membership : chunk) {
+            idsByType.computeIfAbsent(membership.getMembershipType().toLowerCase(), type -> new ArrayList<>())
+                     .add(membership.getMembershipId());
+        }
+
+        Date startDate = Date.valueOf(today);
+        Map<String, Integer> renewedByType = new LinkedHashMap<>();
+        int[] skipped = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Map.Entry<String, List<Integer>> entry : idsByType.entrySet()) {
+                int months;
+                try {
+                    months = MembershipTerms.expiryMonths(entry.getKey());
+                } catch (StudentException se) {
+                    logger.warn("Skipping {} membership(s): {}", entry.getValue().size(), se.getMessage());
+                    skipped[0] += entry.getValue().size();
+                    continue;
+                }
+                int renewed = membershipRepository.renew(entry.getValue(), startDate,
+                        Date.valueOf(today.plusMonths(months)));
+                changeFeedService.recordChanges(ChangeRecord.MEMBERSHIP, entry.getValue(), ChangeOperation.UPDATED);
+                renewedByType.merge(entry.getKey(), renewed, Integer::sum);
+            }
+        });
+        renewedByType.forEach((type, renewed) -> {
+            result.setRenewed(result.getRenewed() + renewed);
+            result.getRenewedByType().merge(type, renewed, Integer::sum);
+        });
+        result.setSkipped(result.getSkipped() + skipped[0]);
+        result.setMatched(result.getMatched() + chunk.size());
+    }
+
+    private static boolean isNotEmpty(List<Integer> ids) {
+        return ids != null && !ids.isEmpty();
+    }
+}
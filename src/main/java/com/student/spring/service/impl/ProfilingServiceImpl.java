@@ -0,0 +1,214 @@
+package com.student.spring.service.impl;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.spring.dto.ProfilingCaptureDTO;
+import com.student.spring.dto.ProfilingCaptureStatus;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.monitoring.RecordingAnalyzer;
+import com.student.spring.service.ProfilingService;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation of on-demand profiling captures.
+ *
+ * A capture is a JFR recording with one of the JDK's settings, "default" (about 1% overhead)
+ * or "profile" (more frequent samples, a few percent), combined with the settings of the
+ * application's own events. Only one capture runs at a time. When its time is up, the
+ * recording is written to capture-ID.jfr in the storage directory, summarized, and the
+ * capture's state is written next to it to capture-ID.json, so completed captures can still
+ * be read after a restart. Only the most recent captures are also kept in memory; older ones
+ * are read back from their state file. The next capture can only start once the previous
+ * one has been written and summarized.
+ */
+@Service
+@Observed(name = "service.method")
+public class ProfilingServiceImpl implements ProfilingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingServiceImpl.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private static final String APPLICATION_SETTINGS = "jfr/student-management.jfc";
+
+    private static final int SUMMARY_LIMIT = 20;
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${profiling.storage-dir:${java.io.tmpdir}/student-profiling}")
+    private String storageDir;
+
+    @Value("${profiling.max-seconds:300}")
+    private int maxSeconds;
+
+    private static final int MAX_CAPTURES_IN_MEMORY = 20;
+
+    // Access-ordered, so the capture evicted is the one least recently started, finished or read
+    private final Map<Long, ProfilingCaptureDTO> captures = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ProfilingCaptureDTO> eldest) {
+            return size() > MAX_CAPTURES_IN_MEMORY;
+        }
+    };
+
+    private final AtomicLong lastCaptureId = new AtomicLong(System.currentTimeMillis());
+
+    private Recording running;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profiling-capture");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        scheduler.shutdownNow();
+        if (running != null) {
+            running.close();
+            running = null;
+        }
+    }
+
+    @Override
+    public synchronized ProfilingCaptureDTO startCapture(String settings, int seconds) throws StudentException {
+        if (!SETTINGS.contains(settings)) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "unknown settings " + settings + ", use one of " + SETTINGS);
+        }
+        if (seconds < 1 || seconds > maxSeconds) {
+            throw new StudentException(ErrorCode.INVALID_LIMIT, "seconds", 1, maxSeconds);
+        }
+        if (running != null) {
+            return null;
+        }
+
+        long captureId = lastCaptureId.incrementAndGet();
+        try {
+            Files.createDirectories(Paths.get(storageDir));
+            Map<String, String> recordingSettings = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+            recordingSettings.putAll(applicationSettings());
+            Recording recording = new Recording(recordingSettings);
+            recording.setName("capture-" + captureId);
+            recording.setToDisk(true);
+            recording.start();
+            running = recording;
+        } catch (IOException | ParseException | RuntimeException se) {
+            throw new StudentException("Error starting profiling capture", se);
+        }
+
+        ProfilingCaptureDTO capture = new ProfilingCaptureDTO(captureId, ProfilingCaptureStatus.RUNNING, settings,
+                seconds, Instant.now(), null, 0, null, null);
+        captures.put(captureId, capture);
+        scheduler.schedule(() -> finishCapture(capture), seconds, TimeUnit.SECONDS);
+        logger.info("Started profiling capture {} with {} settings for {}s", captureId, settings, seconds);
+        return capture;
+    }
+
+    @Override
+    public ProfilingCaptureDTO getCapture(long captureId) throws StudentException {
+        ProfilingCaptureDTO capture;
+        synchronized (this) {
+            capture = captures.get(captureId);
+        }
+        if (capture != null) {
+            return capture;
+        }
+        try {
+            Path state = Paths.get(storageDir).resolve("capture-" + captureId + ".json");
+            return Files.exists(state) ? objectMapper.readValue(state.toFile(), ProfilingCaptureDTO.class) : null;
+        } catch (IOException se) {
+            throw new StudentException("Error reading profiling capture " + captureId, se);
+        }
+    }
+
+    @Override
+    public Path getCaptureRecording(long captureId) throws StudentException {
+        ProfilingCaptureDTO capture = getCapture(captureId);
+        if (capture == null || capture.getStatus() != ProfilingCaptureStatus.COMPLETED) {
+            return null;
+        }
+        return recordingFile(captureId);
+    }
+
+    // Replaces the running capture's entry with its final state rather than changing it in place.
+    // The recording stays the running one until then, so no other capture starts in the meantime.
+    private void finishCapture(ProfilingCaptureDTO capture) {
+        Recording recording;
+        synchronized (this) {
+            recording = running;
+        }
+        if (recording == null) {
+            return;
+        }
+        long captureId = capture.getCaptureId();
+        Path file = recordingFile(captureId);
+        ProfilingCaptureDTO finished = new ProfilingCaptureDTO(captureId, ProfilingCaptureStatus.COMPLETED,
+                capture.getSettings(), capture.getDurationSeconds(), capture.getStartedAt(), null, 0, null, null);
+        try {
+            recording.stop();
+            recording.dump(file);
+            finished.setSummary(RecordingAnalyzer.summarize(file, SUMMARY_LIMIT));
+            finished.setRecordingSize(Files.size(file));
+            logger.info("Profiling capture {} written to {}", captureId, file);
+        } catch (Exception se) {
+            logger.error("Profiling capture {} failed", captureId, se);
+            String message = String.valueOf(se.getMessage());
+            finished.setMessage(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+            finished.setStatus(ProfilingCaptureStatus.FAILED);
+        } finally {
+            recording.close();
+        }
+        finished.setFinishedAt(Instant.now());
+        try {
+            objectMapper.writeValue(Paths.get(storageDir).resolve("capture-" + captureId + ".json").toFile(), finished);
+        } catch (IOException se) {
+            logger.error("Error writing the state of profiling capture {}", captureId, se);
+        }
+        synchronized (this) {
+            captures.put(captureId, finished);
+            if (running == recording) {
+                running = null;
+            }
+        }
+    }
+
+    private Path recordingFile(long captureId) {
+        return Paths.get(storageDir).resolve("capture-" + captureId + ".jfr");
+    }
+
+    private static Map<String, String> applicationSettings() throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(APPLICATION_SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            return Configuration.create(reader).getSettings();
+        }
+    }
+}
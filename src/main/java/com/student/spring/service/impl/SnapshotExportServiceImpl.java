@@ -0,0 +1,313 @@
+package com.student.spring.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.spring.dto.ExportJobDTO;
+import com.student.spring.dto.ExportPartDTO;
+import com.student.spring.entity.ExportJob;
+import com.student.spring.entity.ExportJobStatus;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.mapper.ExportJobMapper;
+import com.student.spring.repository.ExportJobRepository;
+import com.student.spring.service.SnapshotExportService;
+import com.student.spring.util.CsvWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation of the point-in-time snapshot export.
+ *
+ * An export reads every part inside one read-only REPEATABLE READ transaction. On InnoDB
+ * all reads of such a transaction see the same consistent snapshot, so the parts agree
+ * with each other even while students are being changed. Each table is streamed from a
+ * forward-only cursor straight into a gzipped CSV file; with a fetch size of
+ * Integer.MIN_VALUE, MySQL Connector/J hands rows over one at a time instead of
+ * buffering the result. The parts are written to a working directory that is renamed
+ * once the export is complete, next to a manifest listing the parts and their row counts.
+ */
+@Service
+@Observed(name = "service.method")
+public class SnapshotExportServiceImpl implements SnapshotExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExportServiceImpl.class);
+
+    private static final String MANIFEST = "manifest.json";
+
+    private static final List<SnapshotPart> PARTS = List.of(
+            new SnapshotPart("students.csv.gz", "student",
+                    "select student_id, first_name, last_name, phone_no, email, address, dob, grade_id, "
+                    + "membership_id, possible_duplicate from student order by student_id"),
+            new SnapshotPart("memberships.csv.gz", "membership",
+                    "select membership_id, start_date, expiry_date, membership_type, expired "
+                    + "from membership order by membership_id"),
+            new SnapshotPart("grades.csv.gz", "grade",
+                    "select grade_id, grade, standard from grade order by grade_id"),
+            new SnapshotPart("student_activities.csv.gz", "student_activity",
+                    "select student_id, activity_id from student_activity order by student_id, activity_id"));
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${exports.storage-dir:${java.io.tmpdir}/student-exports}")
+    private String storageDir;
+
+    @Value("${exports.fetch-size:1000}")
+    private int fetchSize;
+
+    private TransactionTemplate snapshotTransaction;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        worker.shutdownNow();
+    }
+
+    /**
+     * Reruns the exports that were queued or running when the application stopped. A rerun
+     * takes a new snapshot, as the interrupted one cannot be continued.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeExports() {
+        try {
+            for (ExportJob job : exportJobRepository.findByStatusInOrderByJobId(
+                    List.of(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING))) {
+                logger.info("Restarting snapshot export {}", job.getJobId());
+                submit(job.getJobId());
+            }
+        } catch (Exception se) {
+            logger.error("Error restarting snapshot exports", se);
+        }
+    }
+
+    @Override
+    public ExportJobDTO createSnapshotExport() throws StudentException {
+        ExportJob saved;
+        try {
+            ExportJob job = new ExportJob();
+            job.setStatus(ExportJobStatus.QUEUED);
+            job.setCreatedAt(Instant.now());
+            saved = exportJobRepository.save(job);
+        } catch (Exception se) {
+            throw new StudentException("Error creating snapshot export", se);
+        }
+        submit(saved.getJobId());
+        logger.info("Queued snapshot export {}", saved.getJobId());
+        return ExportJobMapper.toDTO(saved, List.of());
+    }
+
+    @Override
+    public ExportJobDTO getSnapshotExport(long jobId) throws StudentException {
+        try {
+            ExportJob job = exportJobRepository.findById(jobId)
+                    .orElseThrow(() -> new StudentException(ErrorCode.RESOURCE_NOT_FOUND, "Export", jobId));
+            return ExportJobMapper.toDTO(job, readParts(job));
+        } catch (StudentException se) {
+            throw se;
+        } catch (Exception se) {
+            throw new StudentException("Error fetching snapshot export " + jobId, se);
+        }
+    }
+
+    @Override
+    public Path getSnapshotPart(long jobId, String partName) throws StudentException {
+        try {
+            ExportJob job = exportJobRepository.findById(jobId)
+                    .orElseThrow(() -> new StudentException(ErrorCode.RESOURCE_NOT_FOUND, "Export", jobId));
+            // Only names listed in the manifest are resolved, so the name cannot leave the directory
+            boolean listed = readParts(job).stream().anyMatch(part -> part.getName().equals(partName));
+            if (!listed) {
+                throw new StudentException(ErrorCode.RESOURCE_NOT_FOUND, "Export part", partName);
+            }
+            return Paths.get(job.getStoredPath()).resolve(partName);
+        } catch (StudentException se) {
+            throw se;
+        } catch (Exception se) {
+            throw new StudentException("Error locating snapshot export part", se);
+        }
+    }
+
+    private void submit(long jobId) {
+        worker.execute(() -> runExport(jobId));
+    }
+
+    private void runExport(long jobId) {
+        ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == ExportJobStatus.COMPLETED || job.getStatus() == ExportJobStatus.FAILED) {
+            return;
+        }
+        Path working = Paths.get(storageDir).resolve("snapshot-" + jobId + ".tmp");
+        try {
+            job.setStatus(ExportJobStatus.RUNNING);
+            exportJobRepository.save(job);
+
+            deleteDirectory(working);
+            Files.createDirectories(working);
+            Instant[] snapshotAt = new Instant[1];
+            List<ExportPartDTO> parts = snapshotTransaction.execute(status -> {
+                snapshotAt[0] = Instant.now();
+                List<ExportPartDTO> written = new ArrayList<>();
+                for (SnapshotPart part : PARTS) {
+                    written.add(writePart(working, part));
+                }
+                return written;
+            });
+            objectMapper.writeValue(working.resolve(MANIFEST).toFile(), parts);
+
+            Path target = Paths.get(storageDir).resolve("snapshot-" + jobId);
+            deleteDirectory(target);
+            Files.move(working, target, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setStatus(ExportJobStatus.COMPLETED);
+            job.setStoredPath(target.toAbsolutePath().toString());
+            job.setSnapshotAt(snapshotAt[0]);
+            job.setTotalRows(parts.stream().mapToLong(ExportPartDTO::getRows).sum());
+            job.setFinishedAt(Instant.now());
+            exportJobRepository.save(job);
+            logger.info("Snapshot export {} wrote {} row(s) to {}", jobId, job.getTotalRows(), target);
+        } catch (Exception se) {
+            if (shuttingDown) {
+                logger.info("Snapshot export {} interrupted by shutdown; it is rerun on the next start", jobId);
+                return;
+            }
+            logger.error("Snapshot export {} failed", jobId, se);
+            job.setStatus(ExportJobStatus.FAILED);
+            String message = String.valueOf(se.getMessage());
+            job.setMessage(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+            job.setFinishedAt(Instant.now());
+            try {
+                exportJobRepository.save(job);
+                deleteDirectory(working);
+            } catch (Exception cleanup) {
+                logger.error("Error recording failure of snapshot export {}", jobId, cleanup);
+            }
+        }
+    }
+
+    // Runs inside the snapshot transaction
+    private ExportPartDTO writePart(Path directory, SnapshotPart part) {
+        Path file = directory.resolve(part.name());
+        try (CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), StandardCharsets.UTF_8)))) {
+            long rows = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(part.sql(), ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (ResultSetExtractor<Long>) resultSet -> {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columns = metaData.getColumnCount();
+                List<Object> values = new ArrayList<>(columns);
+                try {
+                    for (int i = 1; i <= columns; i++) {
+                        values.add(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT));
+                    }
+                    csv.writeRecord(values);
+                    long count = 0;
+                    while (resultSet.next()) {
+                        values.clear();
+                        for (int i = 1; i <= columns; i++) {
+                            values.add(resultSet.getObject(i));
+                        }
+                        csv.writeRecord(values);
+                        count++;
+                    }
+                    return count;
+                } catch (IOException se) {
+                    throw new UncheckedIOException(se);
+                }
+            });
+            logger.debug("Snapshot part {} holds {} row(s)", part.name(), rows);
+            return new ExportPartDTO(part.name(), part.table(), rows);
+        } catch (IOException se) {
+            throw new UncheckedIOException("Error writing snapshot part " + part.name(), se);
+        }
+    }
+
+    private List<ExportPartDTO> readParts(ExportJob job) throws IOException {
+        if (job.getStatus() != ExportJobStatus.COMPLETED || job.getStoredPath() == null) {
+            return List.of();
+        }
+        Path manifest = Paths.get(job.getStoredPath()).resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return List.of();
+        }
+        return List.of(objectMapper.readValue(manifest.toFile(), ExportPartDTO[].class));
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * One table of the export: the part's file name, the table name and the query reading it in key order.
+     */
+    private record SnapshotPart(String name, String table, String sql) {
+    }
+}
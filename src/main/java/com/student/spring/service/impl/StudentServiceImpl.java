@@ -1,25 +1,52 @@
 package com.student.spring.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.student.spring.dto.StudentDTO;
 import com.student.spring.dto.StudentInputDTO;
+import com.student.spring.dto.StudentLookupDTO;
+import com.student.spring.dto.StudentSearchHitDTO;
+import com.student.spring.dto.StudentSearchResultDTO;
 import com.student.spring.entity.Activity;
+import com.student.spring.entity.ChangeOperation;
+import com.student.spring.entity.ChangeRecord;
 import com.student.spring.entity.Grade;
 import com.student.spring.entity.Membership;
 import com.student.spring.entity.Student;
+import com.student.spring.exception.DuplicateStudentException;
+import com.student.spring.exception.ErrorCode;
 import com.student.spring.exception.StudentException;
+import com.student.spring.index.ActivityEnrollmentIndex;
+import com.student.spring.index.DuplicateStudentIndex;
+import com.student.spring.index.StudentSearchIndex;
+import com.student.spring.mapper.DateMapper;
 import com.student.spring.mapper.StudentMapper;
 import com.student.spring.repository.ActivityRepository;
 import com.student.spring.repository.GradeRepository;
 import com.student.spring.repository.MembershipRepository;
+import com.student.spring.repository.SparseFieldsetRepository;
 import com.student.spring.repository.StudentRepository;
+import com.student.spring.service.ChangeFeedService;
 import com.student.spring.service.StudentService;
+import com.student.spring.stats.GradeDistributionStats;
+import com.student.spring.util.Validator;
 
 /**
  * Service implementation class for managing student-related operations.
@@ -29,10 +56,9 @@ import com.student.spring.service.StudentService;
  * student exists by ID.
  */
 @Service
+@Observed(name = "service.method")
 public class StudentServiceImpl implements StudentService {
 
-    private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
-
     @Autowired
     private StudentRepository studentRepository;
 
@@ -42,25 +68,59 @@ public class StudentServiceImpl implements StudentService {
     @Autowired
     private MembershipRepository membershipRepository;
 
+    @Autowired
+    private SparseFieldsetRepository sparseFieldsetRepository;
+
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ActivityEnrollmentIndex activityEnrollmentIndex;
+
+    @Autowired
+    private GradeDistributionStats gradeDistributionStats;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private DuplicateStudentIndex duplicateStudentIndex;
+
+    @Value("${student.search.max-terms:8}")
+    private int maxSearchTerms;
+
     /**
      * Registers a new student.
      *
      * @param studentDTO the student data to be saved
      * @return the generated student ID after saving
      * @throws StudentException if registration fails
+     * @throws DuplicateStudentException if duplicates are rejected and a student with the same email or phone exists
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public int registerStudent(StudentDTO studentDTO) throws StudentException {
         try {
             Student student = StudentMapper.toEntity(studentDTO);
+            duplicateStudentIndex.check(student);
             Student updatedStudent = studentRepository.save(student);
+            duplicateStudentIndex.add(updatedStudent);
+            activityEnrollmentIndex.setEnrollments(updatedStudent.getStudentId(), activityIdsOf(updatedStudent));
+            studentSearchIndex.put(updatedStudent);
+            gradeDistributionStats.studentAdded(gradeIdOf(updatedStudent));
+            changeFeedService.recordChange(ChangeRecord.STUDENT, updatedStudent.getStudentId(), ChangeOperation.CREATED,
+                    StudentMapper.toDTO(updatedStudent));
             return updatedStudent.getStudentId();
+        } catch (StudentException se) {
+            throw se;
         } catch (Exception se) {
-            logger.error("Error in registering student", se);
-            throw new StudentException("Error in registering student: " + se.getMessage());
+            throw new StudentException("Error in registering student", se);
         }
     }
 
@@ -73,13 +133,41 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<StudentDTO> getAllStudents() throws StudentException {
         try {
-            List<Student> students = studentRepository.findAll();
+            List<Student> students = studentRepository.findAllWithAssociations();
             return students.stream()
                            .map(StudentMapper::toDTO)
                            .collect(Collectors.toList());
         } catch (Exception se) {
-            logger.error("Error fetching student records", se);
-            throw new StudentException("Error fetching student records: " + se.getMessage());
+            throw new StudentException("Error fetching student records", se);
+        }
+    }
+
+    /**
+     * Retrieves several students by ID. The students are read with their membership, grade
+     * and activities in one query, then returned in the order of the requested IDs.
+     *
+     * @param studentIds the IDs of the students to retrieve
+     * @return one entry per requested ID, marked as not found where no student has that ID
+     * @throws StudentException if retrieval fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentLookupDTO> getStudentsByIds(List<Integer> studentIds) throws StudentException {
+        try {
+            Map<Integer, StudentDTO> studentsById = new HashMap<>();
+            if (!studentIds.isEmpty()) {
+                for (Student student : studentRepository.findAllWithAssociationsByIds(new HashSet<>(studentIds))) {
+                    studentsById.put(student.getStudentId(), StudentMapper.toDTO(student));
+                }
+            }
+            List<StudentLookupDTO> lookups = new ArrayList<>(studentIds.size());
+            for (Integer studentId : studentIds) {
+                StudentDTO student = studentsById.get(studentId);
+                lookups.add(new StudentLookupDTO(studentId, student != null, student));
+            }
+            return lookups;
+        } catch (Exception se) {
+            throw new StudentException("Error fetching students", se);
         }
     }
 
@@ -96,8 +184,45 @@ public class StudentServiceImpl implements StudentService {
             Student student = studentRepository.findById(studentId).orElse(null);
             return StudentMapper.toDTO(student);
         } catch (Exception se) {
-            logger.error("Error fetching student with ID: {}", studentId, se);
-            throw new StudentException("Error fetching student with ID " + studentId + ": " + se.getMessage());
+            throw new StudentException("Error fetching student with ID " + studentId, se);
+        }
+    }
+
+    /**
+     * Retrieves the requested fields of all students with a projection query.
+     *
+     * @param fields the requested field names
+     * @return one map of field values per student, in ID order
+     * @throws StudentException if a field name is unknown or retrieval fails
+     */
+    @Override
+    public List<Map<String, Object>> getAllStudentFields(List<String> fields) throws StudentException {
+        try {
+            return sparseFieldsetRepository.findStudents(fields, null);
+        } catch (InvalidDataAccessApiUsageException se) {
+            throw new StudentException(ErrorCode.INVALID_FIELDS, se.getMessage());
+        } catch (Exception se) {
+            throw new StudentException("Error fetching student fields", se);
+        }
+    }
+
+    /**
+     * Retrieves the requested fields of one student with a projection query.
+     *
+     * @param studentId the student ID
+     * @param fields the requested field names
+     * @return the map of field values, or null if not found
+     * @throws StudentException if a field name is unknown or retrieval fails
+     */
+    @Override
+    public Map<String, Object> getStudentFieldsById(int studentId, List<String> fields) throws StudentException {
+        try {
+            List<Map<String, Object>> students = sparseFieldsetRepository.findStudents(fields, studentId);
+            return students.isEmpty() ? null : students.get(0);
+        } catch (InvalidDataAccessApiUsageException se) {
+            throw new StudentException(ErrorCode.INVALID_FIELDS, se.getMessage());
+        } catch (Exception se) {
+            throw new StudentException("Error fetching fields of student with ID " + studentId, se);
         }
     }
 
@@ -113,8 +238,7 @@ public class StudentServiceImpl implements StudentService {
         try {
             return studentRepository.existsById(studentId);
         } catch (Exception se) {
-            logger.error("Error checking if student exists with ID: {}", studentId, se);
-            throw new StudentException("Error checking if student exists with ID " + studentId + ": " + se.getMessage());
+            throw new StudentException("Error checking if student exists with ID " + studentId, se);
         }
     }
 
@@ -125,13 +249,23 @@ public class StudentServiceImpl implements StudentService {
      * @throws StudentException if the update operation fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void updateStudent(StudentDTO studentDTO) throws StudentException {
         try {
+            Optional<Student> existingStudent = studentRepository.findById(studentDTO.getStudentId());
+            Integer previousGradeId = existingStudent.map(StudentServiceImpl::gradeIdOf).orElse(null);
             Student student = StudentMapper.toEntity(studentDTO);
-            studentRepository.save(student);
+            // Only the duplicate check sets the flag, so keep it across a full update
+            student.setPossibleDuplicate(existingStudent.map(Student::isPossibleDuplicate).orElse(false));
+            Student updatedStudent = studentRepository.save(student);
+            activityEnrollmentIndex.setEnrollments(updatedStudent.getStudentId(), activityIdsOf(updatedStudent));
+            studentSearchIndex.put(updatedStudent);
+            duplicateStudentIndex.add(updatedStudent);
+            gradeDistributionStats.studentMoved(previousGradeId, gradeIdOf(updatedStudent));
+            changeFeedService.recordChange(ChangeRecord.STUDENT, updatedStudent.getStudentId(), ChangeOperation.UPDATED,
+                    StudentMapper.toDTO(updatedStudent));
         } catch (Exception se) {
-            logger.error("Error updating student records", se);
-            throw new StudentException("Error updating student records: " + se.getMessage());
+            throw new StudentException("Error updating student records", se);
         }
     }
 
@@ -142,12 +276,19 @@ public class StudentServiceImpl implements StudentService {
      * @throws StudentException if the deletion fails
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public void deleteStudent(int studentId) throws StudentException {
         try {
+            Student existingStudent = studentRepository.findById(studentId).orElse(null);
             studentRepository.deleteById(studentId);
+            activityEnrollmentIndex.removeStudent(studentId);
+            studentSearchIndex.remove(studentId);
+            if (existingStudent != null) {
+                gradeDistributionStats.studentRemoved(gradeIdOf(existingStudent));
+            }
+            changeFeedService.recordChange(ChangeRecord.STUDENT, studentId, ChangeOperation.DELETED, null);
         } catch (Exception se) {
-            logger.error("Error deleting student records", se);
-            throw new StudentException("Error deleting student records: " + se.getMessage());
+            throw new StudentException("Error deleting student records", se);
         }
     }
 
@@ -157,17 +298,31 @@ public class StudentServiceImpl implements StudentService {
      *
      * @param studentInputDTO the student input DTO
      * @return the saved StudentDTO
-     * @throws StudentException if related entities are not found or saving fails
+     * @throws StudentException if the input is invalid, related entities are not found or saving fails
+     * @throws DuplicateStudentException if duplicates are rejected and a student with the same email or phone exists
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public StudentDTO registerStudentFromInput(StudentInputDTO studentInputDTO) throws StudentException {
+        validateInput(studentInputDTO);
         try {
             Student student = mapInputToEntity(studentInputDTO);
+            duplicateStudentIndex.check(student);
             Student newStudent = studentRepository.save(student);
-            return StudentMapper.toDTO(newStudent);
+            duplicateStudentIndex.add(newStudent);
+            activityEnrollmentIndex.setEnrollments(newStudent.getStudentId(), studentInputDTO.getActivityIds());
+            studentSearchIndex.put(newStudent);
+            gradeDistributionStats.studentAdded(gradeIdOf(newStudent));
+            StudentDTO newStudentDTO = StudentMapper.toDTO(newStudent);
+            changeFeedService.recordChange(ChangeRecord.STUDENT, newStudent.getStudentId(), ChangeOperation.CREATED,
+                    newStudentDTO);
+            return newStudentDTO;
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Student");
         } catch (Exception se) {
-            logger.error("Error in registering student", se);
-            throw new StudentException("Error in registering student: " + se.getMessage() + se);
+            throw new StudentException("Error in registering student", se);
         }
     }
 
@@ -178,80 +333,229 @@ public class StudentServiceImpl implements StudentService {
      * @param studentId the ID of the student to update
      * @param studentInputDTO the student input DTO
      * @return the updated StudentDTO
-     * @throws StudentException if student or related entities are not found
+     * @throws StudentException if the input is invalid, the student or related entities are not found or the
+     *         change conflicts with existing data
      */
     @Override
+    @Transactional(rollbackFor = StudentException.class)
     public StudentDTO updateStudentFromInput(int studentId, StudentInputDTO studentInputDTO) throws StudentException {
+        validateInput(studentInputDTO);
         try {
             Student existingStudent = studentRepository.findById(studentId)
-                    .orElseThrow(() -> new StudentException("Student not found with ID: " + studentId));
-    
-            Student inputMapped = mapInputToEntity(studentInputDTO);
-    
-            existingStudent.setFirstName(inputMapped.getFirstName());
-            existingStudent.setLastName(inputMapped.getLastName());
-            existingStudent.setPhoneNo(inputMapped.getPhoneNo());
-            existingStudent.setEmail(inputMapped.getEmail());
-            existingStudent.setAddress(inputMapped.getAddress());
-            existingStudent.setDob(inputMapped.getDob());
-            existingStudent.setGrade(inputMapped.getGrade());
-            existingStudent.setMembership(inputMapped.getMembership());
-            existingStudent.setActivities(inputMapped.getActivities());
-    
-            Student updatedStudent = studentRepository.save(existingStudent);
-            return StudentMapper.toDTO(updatedStudent);
-    
+                    .orElseThrow(() -> new StudentException(ErrorCode.STUDENT_NOT_FOUND, studentId));
+
+            Integer previousGradeId = gradeIdOf(existingStudent);
+            applyInputToEntity(existingStudent, studentInputDTO);
+
+            Student updatedStudent = studentRepository.saveAndFlush(existingStudent);
+            activityEnrollmentIndex.setEnrollments(studentId, studentInputDTO.getActivityIds());
+            studentSearchIndex.put(updatedStudent);
+            duplicateStudentIndex.add(updatedStudent);
+            gradeDistributionStats.studentMoved(previousGradeId, gradeIdOf(updatedStudent));
+            StudentDTO updatedStudentDTO = StudentMapper.toDTO(updatedStudent);
+            changeFeedService.recordChange(ChangeRecord.STUDENT, studentId, ChangeOperation.UPDATED, updatedStudentDTO);
+            return updatedStudentDTO;
+
+        } catch (StudentException se) {
+            throw se;
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Student");
         } catch (Exception se) {
-            logger.error("Error in updating student", se);
-            throw new StudentException("Error in updating student: " + se.getMessage());
+            throw new StudentException("Error in updating student", se);
         }
     }
-    
 
-    private Student mapInputToEntity(StudentInputDTO studentInputDTO) throws StudentException {
-        Student student = new Student();
+    /**
+     * Partially updates an existing student using a JSON Merge Patch (RFC 7396) document.
+     * The patch is merged onto the student's current flat input representation and validated;
+     * only the columns whose values actually change are written (the entity uses dynamic updates)
+     * and activity changes are applied as single-row inserts and deletes on the join table.
+     *
+     * @param studentId the ID of the student to patch
+     * @param mergePatch the merge patch document
+     * @return the patched StudentDTO
+     * @throws StudentException if the student or related entities are not found, the patch is invalid or the
+     *         change conflicts with existing data
+     */
+    @Override
+    @Transactional(rollbackFor = StudentException.class)
+    public StudentDTO patchStudent(int studentId, JsonNode mergePatch) throws StudentException {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "merge patch must be a JSON object");
+        }
+        try {
+            Student existingStudent = studentRepository.findById(studentId)
+                    .orElseThrow(() -> new StudentException(ErrorCode.STUDENT_NOT_FOUND, studentId));
+
+            StudentInputDTO patchedInput = objectMapper.readerForUpdating(StudentMapper.toInputDTO(existingStudent))
+                    .readValue(mergePatch);
+            validateInput(patchedInput);
+
+            Integer previousGradeId = gradeIdOf(existingStudent);
+            applyInputToEntity(existingStudent, patchedInput);
+            studentRepository.flush();
+            activityEnrollmentIndex.setEnrollments(studentId, patchedInput.getActivityIds());
+            studentSearchIndex.put(existingStudent);
+            duplicateStudentIndex.add(existingStudent);
+            gradeDistributionStats.studentMoved(previousGradeId, gradeIdOf(existingStudent));
+            StudentDTO patchedStudentDTO = StudentMapper.toDTO(existingStudent);
+            changeFeedService.recordChange(ChangeRecord.STUDENT, studentId, ChangeOperation.UPDATED, patchedStudentDTO);
+            return patchedStudentDTO;
+        } catch (StudentException se) {
+            throw se;
+        } catch (JsonProcessingException se) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, se.getOriginalMessage());
+        } catch (DataIntegrityViolationException se) {
+            throw new StudentException(ErrorCode.DATA_CONFLICT, "Student");
+        } catch (Exception se) {
+            throw new StudentException("Error in patching student", se);
+        }
+    }
+
+    /**
+     * Searches students through the in-memory search index and loads the fields of the
+     * best ranked matches in one query.
+     *
+     * @param query the search text
+     * @param limit the maximum number of students to return
+     * @return the number of matching students and the best ranked ones, best first
+     * @throws StudentException if the query has no or too many words, or the index is not ready
+     */
+    @Override
+    public StudentSearchResultDTO searchStudents(String query, int limit) throws StudentException {
+        List<String> terms = StudentSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "search query must contain at least one letter or digit");
+        }
+        if (terms.size() > maxSearchTerms) {
+            throw new StudentException(ErrorCode.INVALID_REQUEST, "search query must not contain more than " + maxSearchTerms + " words");
+        }
+        if (!studentSearchIndex.isReady()) {
+            throw new StudentException(ErrorCode.NOT_READY, "Student search index");
+        }
+        try {
+            StudentSearchIndex.Matches matches = studentSearchIndex.search(terms, limit);
+            if (matches.studentIds().isEmpty()) {
+                return new StudentSearchResultDTO(matches.total(), List.of());
+            }
+            Map<Integer, StudentSearchHitDTO> hitsById = studentRepository.findSearchHits(matches.studentIds())
+                    .stream()
+                    .collect(Collectors.toMap(StudentSearchHitDTO::getStudentId, Function.identity()));
+            List<StudentSearchHitDTO> hits = matches.studentIds().stream()
+                    .map(hitsById::get)
+                    .filter(hit -> hit != null)
+                    .collect(Collectors.toList());
+            return new StudentSearchResultDTO(matches.total(), hits);
+        } catch (Exception se) {
+            throw new StudentException("Error in searching students", se);
+        }
+    }
+
+    /**
+     * Checks whether the student search index has been built.
+     *
+     * @return true if searches can be served
+     */
+    @Override
+    public boolean isSearchReady() {
+        return studentSearchIndex.isReady();
+    }
+
+    /**
+     * Copies the input values onto the given student. Grade and membership are only
+     * resolved when their IDs change, and activities are reconciled as a delta against
+     * the current collection so that unchanged join rows are left untouched.
+     *
+     * @param student the new or managed student entity
+     * @param studentInputDTO the student input DTO
+     * @throws StudentException if a referenced grade, membership or activity does not exist
+     */
+    private void applyInputToEntity(Student student, StudentInputDTO studentInputDTO) throws StudentException {
         student.setFirstName(studentInputDTO.getFirstName());
         student.setLastName(studentInputDTO.getLastName());
         student.setPhoneNo(studentInputDTO.getPhoneNo());
         student.setEmail(studentInputDTO.getEmail());
         student.setAddress(studentInputDTO.getAddress());
-        student.setDob(studentInputDTO.getDob());
+        student.setDob(DateMapper.toSqlDate(studentInputDTO.getDob()));
+
+        if (student.getGrade() == null || !student.getGrade().getGradeId().equals(studentInputDTO.getGradeId())) {
+            Grade grade = gradeRepository.findById(studentInputDTO.getGradeId())
+                    .orElseThrow(() -> new StudentException(ErrorCode.GRADE_NOT_FOUND, studentInputDTO.getGradeId()));
+            student.setGrade(grade);
+        }
 
-        Grade grade = gradeRepository.findById(studentInputDTO.getGradeId())
-                .orElseThrow(() -> new StudentException("Grade not found with ID: " + studentInputDTO.getGradeId()));
-        student.setGrade(grade);
+        if (student.getMembership() == null
+                || student.getMembership().getMembershipId() != studentInputDTO.getMembershipId()) {
+            Membership membership = membershipRepository.findById(studentInputDTO.getMembershipId())
+                    .orElseThrow(() -> new StudentException(ErrorCode.MEMBERSHIP_NOT_FOUND, studentInputDTO.getMembershipId()));
+            student.setMembership(membership);
+        }
 
-        Membership membership = membershipRepository.findById(studentInputDTO.getMembershipId())
-                .orElseThrow(() -> new StudentException("Membership not found with ID: " + studentInputDTO.getMembershipId()));
-        student.setMembership(membership);
+        applyActivityDelta(student, studentInputDTO.getActivityIds());
+    }
 
-        try {
-            Set<Activity> activities = studentInputDTO.getActivityIds().stream()
-                .map(this::fetchActivityById) 
-                .collect(Collectors.toSet());
+    /**
+     * Reconciles the student's activities with the requested activity IDs by removing
+     * and adding individual elements of the existing collection instead of replacing it,
+     * so Hibernate issues row-level deletes and inserts on student_activity.
+     *
+     * @param student the student whose activities are updated
+     * @param activityIds the complete set of requested activity IDs
+     * @throws StudentException if any requested activity does not exist
+     */
+    private void applyActivityDelta(Student student, Set<Integer> activityIds) throws StudentException {
+        Set<Activity> activities = student.getActivities();
+        if (activities == null) {
+            activities = new HashSet<>();
             student.setActivities(activities);
-        } catch (RuntimeException re) {
-            if (re.getCause() instanceof StudentException se) {
-                throw se;
-            }
-            throw re;
         }
-        return student;
+        activities.removeIf(activity -> !activityIds.contains(activity.getActivityId()));
+
+        Set<Integer> missingIds = new HashSet<>(activityIds);
+        activities.forEach(activity -> missingIds.remove(activity.getActivityId()));
+        if (missingIds.isEmpty()) {
+            return;
+        }
+
+        List<Activity> added = activityRepository.findAllById(missingIds);
+        if (added.size() != missingIds.size()) {
+            added.forEach(activity -> missingIds.remove(activity.getActivityId()));
+            throw new StudentException(ErrorCode.ACTIVITY_NOT_FOUND, missingIds.iterator().next());
+        }
+        activities.addAll(added);
     }
 
     /**
-     * Helper method to fetch an activity by ID or throw a runtime exception if not found.
+     * Validates a student input with the rules declared on StudentInputDTO. Registration,
+     * updates and merge patches all go through this check, as @Valid is not enforced
+     * without a validation provider.
      *
-     * @param activityId the activity ID
-     * @return the corresponding Activity entity
+     * @param input the student input
+     * @throws StudentException describing every failing field
      */
-    private Activity fetchActivityById(int activityId) {
-        try {
-            return activityRepository.findById(activityId)
-                .orElseThrow(() -> new StudentException("Activity not found with ID: " + activityId));
-        } catch (StudentException se) {
-            throw new RuntimeException(se);
+    private void validateInput(StudentInputDTO input) throws StudentException {
+        List<String> errors = Validator.studentInputErrors(input);
+        if (!errors.isEmpty()) {
+            throw new StudentException(ErrorCode.VALIDATION_FAILED, String.join(", ", errors));
+        }
+    }
+
+    private static Integer gradeIdOf(Student student) {
+        return student.getGrade() != null ? student.getGrade().getGradeId() : null;
+    }
+
+    private static Set<Integer> activityIdsOf(Student student) {
+        if (student.getActivities() == null) {
+            return Set.of();
         }
+        return student.getActivities().stream()
+                      .map(Activity::getActivityId)
+                      .collect(Collectors.toSet());
+    }
+
+    private Student mapInputToEntity(StudentInputDTO studentInputDTO) throws StudentException {
+        Student student = new Student();
+        applyInputToEntity(student, studentInputDTO);
+        return student;
     }
-    
 }
@@ -0,0 +1,271 @@
+package com.student.spring.stats;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.student.spring.dto.GradeStatsDTO;
+import com.student.spring.repository.GradeRepository;
+import com.student.spring.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Incrementally maintained counts of students per grade.
+ *
+ * Counters are kept per grade ID in {@link LongAdder}s so concurrent student writes only
+ * share a read lock and never serialize on each other, and are rolled up by grade letter and standard only when read.
+ * They are seeded with one GROUP BY query once the application is ready, adjusted by the
+ * student write paths after their transactions commit, and periodically reconciled against
+ * SQL. A write path holds the read lock from just before its transaction commits until its
+ * change has been applied, and reconciling holds the write lock while its queries run in
+ * one read-only transaction. No change can therefore commit while the queries run, and
+ * every change committed before has been applied: the counts the queries return are
+ * exactly the state of the counters, which are set to them without anything to replay.
+ */
+@Component
+public class GradeDistributionStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeDistributionStats.class);
+
+    private record GradeKey(String grade, int standard) {
+    }
+
+    private final ConcurrentMap<Integer, LongAdder> studentsByGradeId = new ConcurrentHashMap<>();
+
+    private final LongAdder unassigned = new LongAdder();
+
+    private final ConcurrentMap<Integer, GradeKey> grades = new ConcurrentHashMap<>();
+
+    // Commits of changes share the read lock; reconciling takes the write lock for its queries
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Instant lastReconciled;
+
+    private TransactionTemplate reconcileTransaction;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void init() {
+        reconcileTransaction = new TransactionTemplate(transactionManager);
+        reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        reconcileTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Seeds the counters once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes the distribution with SQL and sets the counters to it. Student writes wait
+     * to commit until the queries are done.
+     */
+    @Scheduled(fixedDelayString = "${grade.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${grade.stats.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        try {
+            long drift;
+            lock.writeLock().lock();
+            try {
+                Map<Integer, GradeKey> currentGrades = new HashMap<>();
+                Map<Integer, Long> expected = new HashMap<>();
+                long expectedUnassigned = reconcileTransaction.execute(status -> {
+                    for (Object[] row : gradeRepository.findGradeDescriptors()) {
+                        currentGrades.put((Integer) row[0], new GradeKey((String) row[1], (Integer) row[2]));
+                    }
+                    long unassignedCount = 0;
+                    for (Object[] row : studentRepository.countStudentsByGradeId()) {
+                        if (row[0] == null) {
+                            unassignedCount = ((Number) row[1]).longValue();
+                        } else {
+                            expected.put((Integer) row[0], ((Number) row[1]).longValue());
+                        }
+                    }
+                    return unassignedCount;
+                });
+
+                grades.keySet().retainAll(currentGrades.keySet());
+                grades.putAll(currentGrades);
+
+                drift = Math.abs(unassigned.sum() - expectedUnassigned);
+                unassigned.reset();
+                unassigned.add(expectedUnassigned);
+                Set<Integer> gradeIds = new HashSet<>(studentsByGradeId.keySet());
+                gradeIds.addAll(expected.keySet());
+                for (Integer gradeId : gradeIds) {
+                    LongAdder counter = studentsByGradeId.computeIfAbsent(gradeId, id -> new LongAdder());
+                    long count = expected.getOrDefault(gradeId, 0L);
+                    drift += Math.abs(counter.sum() - count);
+                    counter.reset();
+                    counter.add(count);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (lastReconciled != null && drift > 0) {
+                logger.warn("Grade distribution counters drifted by {} and were corrected", drift);
+            }
+            lastReconciled = Instant.now();
+        } catch (Exception se) {
+            logger.error("Error reconciling grade distribution counters", se);
+        }
+    }
+
+    /**
+     * @return true once the counters have been seeded from the database
+     */
+    public boolean isSeeded() {
+        return lastReconciled != null;
+    }
+
+    /**
+     * Counts a newly registered student.
+     *
+     * @param gradeId the student's grade ID, or null if none
+     */
+    public void studentAdded(Integer gradeId) {
+        afterCommit(() -> counterOf(gradeId).increment());
+    }
+
+    /**
+     * Uncounts a deleted student.
+     *
+     * @param gradeId the student's grade ID, or null if none
+     */
+    public void studentRemoved(Integer gradeId) {
+        afterCommit(() -> counterOf(gradeId).decrement());
+    }
+
+    /**
+     * Moves a student from one grade to another.
+     *
+     * @param fromGradeId the previous grade ID, or null if none
+     * @param toGradeId the new grade ID, or null if none
+     */
+    public void studentMoved(Integer fromGradeId, Integer toGradeId) {
+        if (Objects.equals(fromGradeId, toGradeId)) {
+            return;
+        }
+        afterCommit(() -> {
+            counterOf(fromGradeId).decrement();
+            counterOf(toGradeId).increment();
+        });
+    }
+
+    /**
+     * Records the letter and standard of a created or updated grade.
+     */
+    public void gradeSaved(int gradeId, String grade, int standard) {
+        afterCommit(() -> grades.put(gradeId, new GradeKey(grade, standard)));
+    }
+
+    /**
+     * Forgets a deleted grade; its students are removed with it by cascade.
+     */
+    public void gradeRemoved(int gradeId) {
+        afterCommit(() -> {
+            grades.remove(gradeId);
+            studentsByGradeId.remove(gradeId);
+        });
+    }
+
+    /**
+     * Rolls the per-grade counters up by grade letter and standard.
+     *
+     * @return the current distribution
+     */
+    public GradeStatsDTO snapshot() {
+        Map<String, Long> byGrade = new TreeMap<>();
+        Map<Integer, Long> byStandard = new TreeMap<>();
+        Map<Integer, Map<String, Long>> byStandardAndGrade = new TreeMap<>();
+        long unassignedCount = unassigned.sum();
+        long total = unassignedCount;
+
+        for (Map.Entry<Integer, LongAdder> entry : studentsByGradeId.entrySet()) {
+            long count = entry.getValue().sum();
+            GradeKey key = grades.get(entry.getKey());
+            if (count == 0 || key == null) {
+                continue;
+            }
+            total += count;
+            byGrade.merge(key.grade(), count, Long::sum);
+            byStandard.merge(key.standard(), count, Long::sum);
+            byStandardAndGrade.computeIfAbsent(key.standard(), standard -> new TreeMap<>())
+                              .merge(key.grade(), count, Long::sum);
+        }
+        return new GradeStatsDTO(total, unassignedCount, byGrade, byStandard, byStandardAndGrade, lastReconciled);
+    }
+
+    // Holds the read lock from just before the transaction commits until the change is applied
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private Lock held;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                held = lock.readLock();
+                held.lock();
+            }
+
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (held != null) {
+                    held.unlock();
+                    held = null;
+                }
+            }
+        });
+    }
+
+    private LongAdder counterOf(Integer gradeId) {
+        return gradeId == null ? unassigned : studentsByGradeId.computeIfAbsent(gradeId, id -> new LongAdder());
+    }
+}
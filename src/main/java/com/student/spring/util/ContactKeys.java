@@ -0,0 +1,63 @@
+package com.student.spring.util;
+
+import java.util.Locale;
+
+/**
+ *    This class normalizes student contact details into the keys used to detect duplicate students.
+ */
+
+public class ContactKeys
+{
+
+    private static final int PHONE_KEY_DIGITS = 10;
+
+    /**
+     * This method normalizes an email address: surrounding whitespace is removed, the address
+     * is lower-cased and a "+tag" suffix of the local part is dropped.
+     *
+     * @param email
+     *        The email address.
+     * @return
+     *        the normalized email key, or null if the email is blank.
+     */
+
+    public static String emailKey(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        int at = key.lastIndexOf('@');
+        int plus = key.indexOf('+');
+        if (at > 0 && plus > 0 && plus < at) {
+            key = key.substring(0, plus) + key.substring(at);
+        }
+        return key;
+    }
+
+    /**
+     * This method normalizes a phone number to its last ten digits, so that the same number
+     * with or without a country code or separators yields the same key.
+     *
+     * @param phoneNo
+     *        The phone number.
+     * @return
+     *        the normalized phone key, or null if the phone number has no digits.
+     */
+
+    public static String phoneKey(String phoneNo) {
+        if (phoneNo == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNo.length());
+        for (int i = 0; i < phoneNo.length(); i++) {
+            char c = phoneNo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 0) {
+            return null;
+        }
+        return digits.length() > PHONE_KEY_DIGITS ? digits.substring(digits.length() - PHONE_KEY_DIGITS) : digits.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.student.spring.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    This class reads comma-separated records one at a time from a character stream.
+ *
+ *    Fields may be enclosed in double quotes, in which case they can contain commas, line
+ *    breaks and doubled quotes. Blank lines are skipped and a leading byte order mark is ignored.
+ */
+
+public class CsvReader implements Closeable
+{
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+
+    private int pending = EOF;
+
+    private boolean started;
+
+    /**
+     * This constructor wraps the given reader, which should be buffered.
+     *
+     * @param reader
+     *        The character stream to read from.
+     */
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+
+    /**
+     * This method reads the next record.
+     *
+     * @return
+     *        The fields of the next non-blank record, or null at the end of the stream.
+     * @throws IOException
+     *        If reading fails or the stream ends inside a quoted field.
+     */
+
+    public List<String> readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            int first = reader.read();
+            if (first != '\uFEFF') {
+                pending = first;
+            }
+        }
+        while (true) {
+            int c = next();
+            if (c == EOF) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                continue;
+            }
+            pending = c;
+            return readFields();
+        }
+    }
+
+
+    /**
+     * This method skips records without returning them.
+     *
+     * @param count
+     *        The number of records to skip.
+     * @return
+     *        The number of records actually skipped, less than count if the stream ended.
+     * @throws IOException
+     *        If reading fails.
+     */
+
+    public long skipRecords(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && readRecord() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+
+    private List<String> readFields() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = next();
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pending = following;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        if (pending != EOF) {
+            int c = pending;
+            pending = EOF;
+            return c;
+        }
+        return reader.read();
+    }
+}
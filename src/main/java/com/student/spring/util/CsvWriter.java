@@ -0,0 +1,75 @@
+package com.student.spring.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ *    This class writes comma-separated records to a character stream, in the format read by CsvReader.
+ *
+ *    Fields containing commas, double quotes or line breaks are enclosed in double quotes,
+ *    with embedded quotes doubled. Null values are written as empty fields.
+ */
+
+public class CsvWriter implements Closeable
+{
+
+    private final Writer writer;
+
+    /**
+     * This constructor wraps the given writer, which should be buffered.
+     *
+     * @param writer
+     *        The character stream to write to.
+     */
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+
+    /**
+     * This method writes one record followed by a line break.
+     *
+     * @param values
+     *        The field values, written with String.valueOf.
+     * @throws IOException
+     *        If writing fails.
+     */
+
+    public void writeRecord(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeField(String.valueOf(value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,59 @@
+package com.student.spring.util;
+
+import java.time.LocalDate;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+
+/**
+ *    This record is the keyset cursor of the expiring-memberships query: the expiry date and
+ *    membership ID of the last row of a page, written as {@code yyyy-MM-dd_membershipId}.
+ *
+ *    @param expiryDate
+ *        The expiry date of the last row.
+ *    @param membershipId
+ *        The membership ID of the last row.
+ */
+
+public record ExpiryCursor(LocalDate expiryDate, int membershipId)
+{
+
+    /**
+     * This method reads a cursor and checks that it belongs to the given expiry window, so that
+     * a cursor of a different query neither returns rows outside the window nor skips rows.
+     *
+     * @param cursor
+     *        The cursor returned with the previous page.
+     * @param from
+     *        The first expiry date of the window.
+     * @param to
+     *        The last expiry date of the window.
+     * @return
+     *        the decoded cursor.
+     * @throws StudentException
+     *        if the cursor is malformed or its expiry date lies outside the window.
+     */
+
+    public static ExpiryCursor parse(String cursor, LocalDate from, LocalDate to) throws StudentException {
+        int separator = cursor.indexOf('_');
+        LocalDate expiryDate = separator > 0 ? Validator.parseLocalDate(cursor.substring(0, separator)) : null;
+        if (expiryDate == null || !Validator.isValidInteger(cursor.substring(separator + 1))) {
+            throw new StudentException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+        if (expiryDate.isBefore(from) || expiryDate.isAfter(to)) {
+            throw new StudentException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+        return new ExpiryCursor(expiryDate, Integer.parseInt(cursor.substring(separator + 1)));
+    }
+
+    /**
+     * This method writes the cursor in the form read by {@link #parse}.
+     *
+     * @return
+     *        the cursor text.
+     */
+
+    @Override
+    public String toString() {
+        return expiryDate + "_" + membershipId;
+    }
+}
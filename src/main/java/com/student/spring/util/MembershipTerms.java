@@ -0,0 +1,35 @@
+package com.student.spring.util;
+
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+
+/**
+ *    This class holds the membership term rules shared by new memberships and renewals.
+ */
+
+public class MembershipTerms
+{
+
+    /**
+     * This method returns the number of months a membership of the given type runs for.
+     *
+     * @param membershipType
+     *        The membership type (standard, premium or platinum, case-insensitive).
+     * @return
+     *        the term length in months.
+     * @throws StudentException
+     *        if the membership type is unknown.
+     */
+
+    public static int expiryMonths(String membershipType) throws StudentException {
+        if (membershipType == null) {
+            throw new StudentException(ErrorCode.INVALID_MEMBERSHIP_TYPE, "null");
+        }
+        return switch (membershipType.toLowerCase()) {
+            case "standard" -> 3;
+            case "premium" -> 6;
+            case "platinum" -> 12;
+            default -> throw new StudentException(ErrorCode.INVALID_MEMBERSHIP_TYPE, membershipType);
+        };
+    }
+}
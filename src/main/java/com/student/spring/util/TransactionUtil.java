@@ -0,0 +1,34 @@
+package com.student.spring.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *    This class provides helpers for coordinating in-memory state with database transactions.
+ */
+
+public class TransactionUtil
+{
+
+    /**
+     * This method runs the action once the current transaction commits, or immediately
+     * when no transaction synchronization is active. Actions registered inside a
+     * transaction that rolls back are discarded.
+     *
+     * @param action
+     *        The action to run.
+     */
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
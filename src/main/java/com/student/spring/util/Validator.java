@@ -1,14 +1,27 @@
 package com.student.spring.util;
 
 import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import com.student.spring.dto.StudentInputDTO;
 
 /**
  *    This class provides a collection of static methods for validating user inputs.
+ *
+ *    The checks scan the input once by hand instead of matching regular expressions, so
+ *    they do not compile patterns or allocate. The constraint validators in
+ *    com.student.spring.validation delegate to them, so DTO constraints, the services
+ *    and the import pipeline all apply the same rules.
  */
 
-public class Validator 
+public class Validator
 {
 
+    private static final int PHONE_DIGITS = 10;
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
     /**
      * This method validates whether the input string is an integer.
      *
@@ -19,15 +32,35 @@ public class Validator
      */
 
     public static boolean isValidInteger(String input) {
-        try {
-            Integer.parseInt(input);
-            return true;
-        } catch(NumberFormatException se) {
+        if (input == null || input.isEmpty()) {
+            return false;
+        }
+        int start = 0;
+        boolean negative = false;
+        char first = input.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start = 1;
+        }
+        if (start == input.length()) {
             return false;
         }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = start; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+            if (value > limit) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    
+
     /**
      * This method validates that the input string is not null or empty.
      *
@@ -37,11 +70,20 @@ public class Validator
      *        true if the input is non-empty, false otherwise.
      */
 
-    public static boolean isValidString(String input) 
+    public static boolean isValidString(String input)
     {
-        return input != null && !input.trim().isEmpty();
+        if (input == null) {
+            return false;
+        }
+        // Same notion of blank as String.trim(): every character up to U+0020 is whitespace
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
 
     /**
      * 	This method validates that the phone number contains only digits with an optional '+' at the beginning.
@@ -53,26 +95,115 @@ public class Validator
      */
 
     public static boolean isValidPhone(String phone) {
-        String validatedPhone = phone.startsWith("+") ? phone.substring(1) : phone;
-        return validatedPhone.matches("^[0-9]{10}$");
+        if (phone == null) {
+            return false;
+        }
+        int start = phone.startsWith("+") ? 1 : 0;
+        if (phone.length() - start != PHONE_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
-    
+
 
     /**
      * 	This method validates that the email follows a basic email format (e.g., user@gmail.com, user@yahoo.com).
      *
+     * 	The local part consists of letters, digits, '_', '-' and '.'; the domain of at least two
+     * 	dot-separated labels of letters, digits, '_' and '-', the last one 2 to 4 characters long.
+     *
      * 	@param email
      *        The email input.
      * 	@return
      *        true if the email is valid, false otherwise.
      */
 
-    public static boolean isValidEmail(String email) 
+    public static boolean isValidEmail(String email)
     {
-        return email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+        if (email == null) {
+            return false;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isWordChar(c) && c != '.') {
+                return false;
+            }
+        }
+
+        int labels = 0;
+        int labelLength = 0;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+            } else if (isWordChar(c)) {
+                labelLength++;
+            } else {
+                return false;
+            }
+        }
+        return labels >= 1 && labelLength >= 2 && labelLength <= 4;
+    }
+
+
+    /**
+     * 	This method validates that the input string is a valid date in yyyy-MM-dd format.
+     *
+     * 	@param dateStr
+     *        The date input.
+     * 	@return
+     *        true if the input names an existing day, false otherwise.
+     */
+
+    public static boolean isValidDate(String dateStr) {
+        if (dateStr == null || dateStr.length() != 10 || dateStr.charAt(4) != '-' || dateStr.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(dateStr, 0, 4);
+        int month = digits(dateStr, 5, 7);
+        int day = digits(dateStr, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int maxDay = DAYS_IN_MONTH[month - 1];
+        if (month == 2 && ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0)) {
+            maxDay = 29;
+        }
+        return day <= maxDay;
+    }
+
+
+    /**
+     * 	This method parses a date in yyyy-MM-dd format.
+     *
+     * 	@param dateStr
+     *        The date input.
+     * 	@return
+     *        The date, or null if the input is not a valid date.
+     */
+
+    public static LocalDate parseLocalDate(String dateStr) {
+        if (!isValidDate(dateStr)) {
+            return null;
+        }
+        return LocalDate.of(digits(dateStr, 0, 4), digits(dateStr, 5, 7), digits(dateStr, 8, 10));
     }
-    
+
 
     /**
      * 	This method validates that the input string is in yyyy-MM-dd format.
@@ -84,57 +215,68 @@ public class Validator
      */
 
     public static Date parseDate(String dateStr) {
-        if (dateStr == null || !dateStr.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
-            return null;
+        LocalDate date = parseLocalDate(dateStr);
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+
+    /**
+     * 	This method checks a student input against the rules declared on StudentInputDTO.
+     *
+     * 	@param input
+     *        The student input.
+     * 	@return
+     *        One "field: message" entry per failing field, empty if the input is valid.
+     */
+
+    public static List<String> studentInputErrors(StudentInputDTO input) {
+        List<String> errors = new ArrayList<>();
+        if (!isValidString(input.getFirstName())) {
+            errors.add("firstName: First name is mandatory");
         }
-        String[] field = dateStr.split("-");
-        int year, month, day;
-        try {
-            year = Integer.parseInt(field[0]);
-            month = Integer.parseInt(field[1]);
-            day = Integer.parseInt(field[2]);
-        } catch (NumberFormatException se) {
-            return null;
+        if (!isValidString(input.getLastName())) {
+            errors.add("lastName: Last name is mandatory");
         }
-        
-        // Validate month.
-        if (month < 1 || month > 12) {
-            return null;
+        if (!isValidPhone(input.getPhoneNo())) {
+            errors.add("phoneNo: Phone number must be 10 digits");
         }
-        
-        // Determine the maximum day for the month.
-        int maxDay;
-        switch (month) {
-            case 2:
-                // Check for leap year.
-                if ((year % 4 == 0 && year % 100 != 0) || (year % 400 == 0)) {
-                    maxDay = 29;
-                } else {
-                    maxDay = 28;
-                }
-                break;
-            case 4:
-            case 6:
-            case 9:
-            case 11:
-                maxDay = 30;
-                break;
-            default:
-                maxDay = 31;
-        }
-        
-        // Validate day.
-        if (day < 1 || day > maxDay) {
-            return null;
+        if (!isValidEmail(input.getEmail())) {
+            errors.add("email: Email should be valid");
         }
-        
-        try {
-            java.text.SimpleDateFormat format = new java.text.SimpleDateFormat("yyyy-MM-dd");
-            format.setLenient(false);
-            java.util.Date utilDate = format.parse(dateStr);
-            return new java.sql.Date(utilDate.getTime());
-        } catch (java.text.ParseException se) {
-            return null;
+        if (!isValidString(input.getAddress())) {
+            errors.add("address: Address is required");
+        }
+        if (input.getDob() == null) {
+            errors.add("dob: Date of Birth is required");
+        }
+        if (input.getGradeId() == null) {
+            errors.add("gradeId: Grade ID is required");
+        }
+        if (input.getMembershipId() == null) {
+            errors.add("membershipId: Membership ID is required");
+        }
+        if (input.getActivityIds() == null || input.getActivityIds().isEmpty()) {
+            errors.add("activityIds: At least one activity ID is required");
+        }
+        return errors;
+    }
+
+
+    // Letters, digits, '_' and '-', i.e. the regex class [\w-]
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    // The decimal value of input[from, to), or -1 if any of those characters is not an ASCII digit
+    private static int digits(String input, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
         }
+        return value;
     }
 }
@@ -0,0 +1,16 @@
+package com.student.spring.validation;
+
+import com.student.spring.util.Validator;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Checks {@link EmailAddress} constraints with {@link Validator#isValidEmail(String)}.
+ */
+public class EmailAddressValidator implements ConstraintValidator<EmailAddress, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || Validator.isValidEmail(value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.student.spring.validation;
+
+import com.student.spring.util.Validator;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Checks {@link PhoneNumber} constraints with {@link Validator#isValidPhone(String)}.
+ */
+public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || Validator.isValidPhone(value);
+    }
+}
@@ -0,0 +1,132 @@
+package com.student.spring.benchmark;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.StudentDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Measures the JSON serialization of one StudentDTO with the old and the new setup.
+ *
+ * <ul>
+ *   <li>legacy: java.sql.Date fields with {@code @JsonFormat(pattern = "yyyy-MM-dd")}, reflective access</li>
+ *   <li>localdate: the current LocalDate-based DTOs, reflective access</li>
+ * </ul>
+ *
+ * Run {@link #main} to get ops/sec together with the GC profiler's gc.alloc.rate.norm, the
+ * bytes allocated per serialized StudentDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"legacy", "localdate"})
+    private String variant;
+
+    private ObjectWriter writer;
+    private Object student;
+
+    @Setup
+    public void setup() {
+        StudentDTO current = SerializationFormatBenchmark.samplePage(1).get(0);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = mapper.writer();
+        student = variant.equals("legacy") ? LegacyStudentDTO.from(current) : current;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(student);
+    }
+
+    /**
+     * StudentDTO as it was before the move to java.time: java.sql.Date fields formatted through @JsonFormat.
+     */
+    @Getter
+    @Setter
+    public static class LegacyStudentDTO {
+        private int studentId;
+        private String firstName;
+        private String lastName;
+        private String phone;
+        private String email;
+        private String address;
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private Date dob;
+        private LegacyMembershipDTO membership;
+        private GradeDTO grade;
+        private Set<ActivityDTO> activities;
+        private boolean possibleDuplicate;
+
+        static LegacyStudentDTO from(StudentDTO dto) {
+            LegacyStudentDTO legacy = new LegacyStudentDTO();
+            legacy.setStudentId(dto.getStudentId());
+            legacy.setFirstName(dto.getFirstName());
+            legacy.setLastName(dto.getLastName());
+            legacy.setPhone(dto.getPhone());
+            legacy.setEmail(dto.getEmail());
+            legacy.setAddress(dto.getAddress());
+            legacy.setDob(Date.valueOf(dto.getDob()));
+            LegacyMembershipDTO membership = new LegacyMembershipDTO();
+            membership.setMembershipId(dto.getMembership().getMembershipId());
+            membership.setStartDate(Date.valueOf(dto.getMembership().getStartDate()));
+            membership.setExpiryDate(Date.valueOf(dto.getMembership().getExpiryDate()));
+            membership.setExpired(dto.getMembership().isExpired());
+            membership.setMembershipType(dto.getMembership().getMembershipType());
+            legacy.setMembership(membership);
+            legacy.setGrade(dto.getGrade());
+            legacy.setActivities(dto.getActivities());
+            legacy.setPossibleDuplicate(dto.isPossibleDuplicate());
+            return legacy;
+        }
+    }
+
+    /**
+     * MembershipDTO as it was before the move to java.time.
+     */
+    @Getter
+    @Setter
+    public static class LegacyMembershipDTO {
+        private int membershipId;
+        private Date startDate;
+        private Date expiryDate;
+        private boolean expired;
+        private String membershipType;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.student.spring.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.student.spring.dto.ErrorResponseDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+
+/**
+ * Compares the cost of answering a not-found lookup the way the services and controllers
+ * used to, with the error codes and stackless exceptions they use now.
+ *
+ * The exception is thrown below {@code depth} frames, standing in for the filters,
+ * proxies and Spring MVC frames above a service call, as filling in a stack trace costs
+ * in proportion to the depth. The legacy path builds the message by concatenation, is
+ * caught by the service's catch-all and wrapped into a second exception with another
+ * message and stack trace, as the services did; the coded path rethrows the same
+ * stackless exception and renders its message once for the response body. The stack
+ * traces the legacy path logged in several layers are not included.
+ *
+ * Run {@link #main} to get ops/sec (one op = one error response body) together with the
+ * GC profiler's gc.alloc.rate.norm, the bytes allocated per error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"16", "128"})
+    private int depth;
+
+    private int studentId = 4711;
+
+    @Benchmark
+    public String legacy() {
+        try {
+            return String.valueOf(legacyService(depth, studentId));
+        } catch (StudentException se) {
+            return "Error: " + se.getMessage();
+        }
+    }
+
+    @Benchmark
+    public ErrorResponseDTO coded() {
+        try {
+            return new ErrorResponseDTO(null, 200, String.valueOf(codedService(depth, studentId)));
+        } catch (StudentException se) {
+            ErrorCode code = se.getCode();
+            return new ErrorResponseDTO(code.name(), code.getStatus().value(), se.getMessage());
+        }
+    }
+
+    private static int legacyService(int depth, int studentId) throws StudentException {
+        try {
+            return legacyLookup(depth, studentId);
+        } catch (Exception se) {
+            throw new StudentException("Error fetching student with ID " + studentId + ": " + se.getMessage());
+        }
+    }
+
+    private static int legacyLookup(int depth, int studentId) throws StudentException {
+        if (depth == 0) {
+            throw new StudentException("Student not found with ID: " + studentId);
+        }
+        return legacyLookup(depth - 1, studentId) + 1;
+    }
+
+    private static int codedService(int depth, int studentId) throws StudentException {
+        try {
+            return codedLookup(depth, studentId);
+        } catch (StudentException se) {
+            throw se;
+        } catch (Exception se) {
+            throw new StudentException("Error fetching student with ID " + studentId, se);
+        }
+    }
+
+    private static int codedLookup(int depth, int studentId) throws StudentException {
+        if (depth == 0) {
+            throw new StudentException(ErrorCode.STUDENT_NOT_FOUND, studentId);
+        }
+        return codedLookup(depth - 1, studentId) + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ErrorPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.student.spring.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.student.spring.config.MessageConverterConfig;
+import com.student.spring.dto.ActivityDTO;
+import com.student.spring.dto.GradeDTO;
+import com.student.spring.dto.MembershipDTO;
+import com.student.spring.dto.StudentDTO;
+
+/**
+ * Compares encoding a GET /students page as JSON, CBOR, Smile and Protobuf through the
+ * same HttpMessageConverters the application registers.
+ *
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.student.spring.benchmark.SerializationFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"100"})
+    private int students;
+
+    private List<StudentDTO> page;
+
+    private AbstractHttpMessageConverter<Object> converter;
+
+    private MediaType mediaType;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        MessageConverterConfig config = new MessageConverterConfig();
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(builder().build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "cbor" -> {
+                converter = config.cborHttpMessageConverter(builder());
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "smile" -> {
+                converter = config.smileHttpMessageConverter(builder());
+                mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            case "protobuf" -> {
+                converter = config.protobufHttpMessageConverter(builder());
+                mediaType = MediaType.parseMediaType("application/x-protobuf");
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+        page = samplePage(students);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage encode() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, mediaType, output);
+        return output;
+    }
+
+    // Mirrors the settings Spring Boot applies to its auto-configured builder
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static List<StudentDTO> samplePage(int size) {
+        List<StudentDTO> page = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            StudentDTO student = new StudentDTO();
+            student.setStudentId(i);
+            student.setFirstName("First" + i);
+            student.setLastName("Last" + i);
+            student.setPhone(String.format("98%08d", i));
+            student.setEmail("student" + i + "@example.com");
+            student.setAddress(i + " Main Street, Springfield");
+            student.setDob(LocalDate.parse("2008-05-17"));
+            student.setMembership(new MembershipDTO(i, LocalDate.parse("2025-01-01"), LocalDate.parse("2025-07-01"), false,
+                    "premium"));
+            student.setGrade(new GradeDTO(i % 12 + 1, "A", i % 12 + 1));
+            Set<ActivityDTO> activities = new LinkedHashSet<>();
+            for (int a = 1; a <= 3; a++) {
+                activities.add(new ActivityDTO(a, "Activity " + a, "Sports"));
+            }
+            student.setActivities(activities);
+            page.add(student);
+        }
+        return page;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializationFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.student.spring.benchmark;
+
+import java.sql.Date;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.student.spring.util.Validator;
+
+/**
+ * Compares the hand-written checks of Validator with the regex-based versions they
+ * replaced, over a mix of valid and invalid inputs as found in import files.
+ *
+ * Run {@link #main} to get ops/sec (one op = one value checked) together with the GC
+ * profiler's gc.alloc.rate.norm, the bytes allocated per check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int SAMPLES = 8;
+
+    private final String[] phones = {"9876543210", "+9876543210", "98765", "98765432a0",
+                                     "1234567890", "+12345678901", "0000000000", "phone"};
+
+    private final String[] emails = {"john.smith@example.com", "a_b-c@mail.school.edu", "no-at-sign.com",
+                                     "user@domain", "x@y.info", "bad char@example.com", "s1@sub.example.org",
+                                     "user@example.toolong"};
+
+    private final String[] dates = {"2008-05-17", "2010-02-29", "2012-02-29", "2008-13-01",
+                                    "08-05-17", "2009-11-31", "2011-12-31", "2008/05/17"};
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void phoneRegex(Blackhole blackhole) {
+        for (String phone : phones) {
+            blackhole.consume(LegacyValidator.isValidPhone(phone));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void phone(Blackhole blackhole) {
+        for (String phone : phones) {
+            blackhole.consume(Validator.isValidPhone(phone));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void emailRegex(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(LegacyValidator.isValidEmail(email));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void email(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(Validator.isValidEmail(email));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void parseDateRegex(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(LegacyValidator.parseDate(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void parseDate(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(Validator.parseLocalDate(date));
+        }
+    }
+
+    /**
+     * The regex-based checks Validator used before.
+     */
+    static class LegacyValidator {
+
+        static boolean isValidPhone(String phone) {
+            String validatedPhone = phone.startsWith("+") ? phone.substring(1) : phone;
+            return validatedPhone.matches("^[0-9]{10}$");
+        }
+
+        static boolean isValidEmail(String email) {
+            return email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+        }
+
+        static Date parseDate(String dateStr) {
+            if (dateStr == null || !dateStr.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
+                return null;
+            }
+            String[] field = dateStr.split("-");
+            int year = Integer.parseInt(field[0]);
+            int month = Integer.parseInt(field[1]);
+            int day = Integer.parseInt(field[2]);
+            if (month < 1 || month > 12 || day < 1 || day > java.time.YearMonth.of(year, month).lengthOfMonth()) {
+                return null;
+            }
+            try {
+                SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+                format.setLenient(false);
+                return new Date(format.parse(dateStr).getTime());
+            } catch (ParseException se) {
+                return null;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
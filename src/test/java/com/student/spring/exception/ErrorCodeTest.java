@@ -0,0 +1,71 @@
+package com.student.spring.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import org.junit.jupiter.api.Test;
+
+class ErrorCodeTest {
+
+	private static final Object[] ARGS = {"first", "second", "third"};
+
+	private static final List<String> PLAIN_PATTERNS = List.of("", "No arguments", "{0}", "Student {0}",
+			"{0} must be between {1} and {2}", "{1} before {0}", "It''s {0}", "''{0}''",
+			"'{0}' is quoted", "'It''s' {0}", "Unmatched } brace {0}", "{0}{0}{1}");
+
+	@Test
+	void everyCodeHasAMessage() {
+		ResourceBundle messages = ResourceBundle.getBundle("messages");
+		for (ErrorCode code : ErrorCode.values()) {
+			assertTrue(messages.containsKey(code.getMessageKey()), code.getMessageKey());
+		}
+	}
+
+	@Test
+	void everyCodeRendersAsMessageFormatDoes() {
+		ResourceBundle messages = ResourceBundle.getBundle("messages");
+		for (ErrorCode code : ErrorCode.values()) {
+			String pattern = messages.getString(code.getMessageKey());
+			assertEquals(new MessageFormat(pattern, Locale.getDefault()).format(ARGS), code.format(ARGS), code.name());
+		}
+	}
+
+	@Test
+	void rendersPlainPatternsAsMessageFormatDoes() {
+		for (String pattern : PLAIN_PATTERNS) {
+			assertEquals(new MessageFormat(pattern).format(ARGS), new MessagePattern(pattern).format(ARGS), pattern);
+		}
+	}
+
+	@Test
+	void fillsInNumbersWithoutGrouping() {
+		assertEquals("Student not found with ID: 12345", new MessagePattern("Student not found with ID: {0}").format(12345));
+	}
+
+	@Test
+	void leavesMissingArgumentsAsWritten() {
+		assertEquals("first and {1}", new MessagePattern("{0} and {1}").format("first"));
+		assertEquals("{0} and {1}", new MessagePattern("{0} and {1}").format((Object[]) null));
+	}
+
+	@Test
+	void usesMessageFormatForFormattedArguments() {
+		for (String pattern : List.of("{0,number} students", "Due {1,date,yyyy-MM-dd} for {0}",
+				"{0,choice,0#none|1#one|1<many}")) {
+			Object[] args = {1234, new Date(0)};
+			assertEquals(new MessageFormat(pattern).format(args), new MessagePattern(pattern).format(args), pattern);
+		}
+	}
+
+	@Test
+	void rendersInvalidPatternsAsWritten() {
+		for (String pattern : List.of("Unterminated {0", "Not an index {x}", "Spaced { 0 }", "Unknown type {0,colour}")) {
+			assertEquals(pattern, new MessagePattern(pattern).format(ARGS), pattern);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.student.spring.index;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void containsEveryAddedKey() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("key-" + i);
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("key-" + i));
+		}
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+
+		assertFalse(filter.mightContain("e:alice@example.com"));
+		assertFalse(filter.mightContain(""));
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheConfiguredRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("added-" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2000, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void toleratesAZeroExpectedSize() {
+		BloomFilter filter = new BloomFilter(0, 0.01);
+		filter.add("p:5551234567");
+
+		assertTrue(filter.mightContain("p:5551234567"));
+	}
+}
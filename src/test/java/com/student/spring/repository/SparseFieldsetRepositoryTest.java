@@ -0,0 +1,92 @@
+package com.student.spring.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+class SparseFieldsetRepositoryTest {
+
+	private final SparseFieldsetRepository repository = new SparseFieldsetRepository();
+
+	private final EntityManager entityManager = mock(EntityManager.class);
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		TypedQuery<Tuple> query = mock(TypedQuery.class);
+		when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(query);
+		when(query.getResultList()).thenReturn(List.of());
+		ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+	}
+
+	@Test
+	void selectsOnlyTheRequestedColumns() {
+		repository.findStudents(List.of("studentId", " firstName ", ""), null);
+
+		assertEquals("select s.studentId, s.studentId, s.firstName from Student s order by s.studentId", jpql());
+	}
+
+	@Test
+	void joinsAToOneAssociationOnlyForItsFields() {
+		repository.findStudents(List.of("firstName", "grade.standard"), 7);
+
+		assertEquals("select s.studentId, s.firstName, g.gradeId, g.standard from Student s "
+				+ "left join s.grade g where s.studentId = :id order by s.studentId", jpql());
+	}
+
+	@Test
+	void expandsAnAssociationNameToAllOfItsFields() {
+		repository.findStudents(List.of("membership"), null);
+
+		String jpql = jpql();
+		assertTrue(jpql.contains("m.startDate, m.expiryDate, m.expired, m.membershipType"), jpql);
+		assertFalse(jpql.contains(" g."), jpql);
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertUnknown(List.of("firstName", "password"));
+		assertUnknown(List.of("grade.teacher"));
+		assertUnknown(List.of("school.name"));
+	}
+
+	@Test
+	void rejectsStudentFieldsOnMemberships() {
+		assertThrows(IllegalArgumentException.class, () -> repository.findMemberships(List.of("firstName"), null));
+	}
+
+	@Test
+	void rejectsAnEmptyFieldset() {
+		assertThrows(IllegalArgumentException.class, () -> repository.findStudents(List.of(" ", ""), null));
+	}
+
+	private void assertUnknown(List<String> fields) {
+		IllegalArgumentException se = assertThrows(IllegalArgumentException.class,
+				() -> repository.findStudents(fields, null));
+		assertTrue(se.getMessage().contains("grade.standard"), se.getMessage());
+		verify(entityManager, never()).createQuery(anyString(), any(Class.class));
+	}
+
+	private String jpql() {
+		ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+		verify(entityManager).createQuery(jpql.capture(), eq(Tuple.class));
+		return jpql.getValue();
+	}
+}
@@ -0,0 +1,62 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.student.spring.dto.ActivityDTO;
+import com.student.spring.entity.Activity;
+import com.student.spring.entity.Student;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.repository.ActivityRepository;
+import com.student.spring.service.ChangeFeedService;
+
+class ActivityServiceImplTest {
+
+	@Test
+	void reportsAnUnknownActivityAsNotFound() {
+		ActivityRepository activityRepository = mock(ActivityRepository.class);
+		ActivityServiceImpl service = new ActivityServiceImpl();
+		ReflectionTestUtils.setField(service, "activityRepository", activityRepository);
+		when(activityRepository.existsById(7)).thenReturn(false);
+
+		StudentException se = assertThrows(StudentException.class, () -> service.deleteActivity(7));
+
+		assertEquals(ErrorCode.ACTIVITY_NOT_FOUND, se.getCode());
+		verify(activityRepository, never()).deleteById(7);
+	}
+
+	@Test
+	void keepsTheEnrollmentsOfAnUpdatedActivity() throws StudentException {
+		Activity activity = new Activity();
+		activity.setActivityId(7);
+		activity.setActivityName("Chess");
+		activity.setActivityType("club");
+		Set<Student> students = Set.of(new Student());
+		activity.setStudents(students);
+		ActivityRepository activityRepository = mock(ActivityRepository.class);
+		when(activityRepository.findById(7)).thenReturn(Optional.of(activity));
+		when(activityRepository.findAll()).thenReturn(List.of(activity));
+		when(activityRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		ActivityServiceImpl service = new ActivityServiceImpl();
+		ReflectionTestUtils.setField(service, "activityRepository", activityRepository);
+		ReflectionTestUtils.setField(service, "changeFeedService", mock(ChangeFeedService.class));
+
+		service.updateActivity(new ActivityDTO(7, "Chess Club", "club"));
+
+		verify(activityRepository).save(activity);
+		assertEquals("Chess Club", activity.getActivityName());
+		assertSame(students, activity.getStudents());
+	}
+}
@@ -0,0 +1,24 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.repository.ChangeRecordRepository;
+
+class ChangeFeedServiceImplTest {
+
+	@Test
+	void rejectsANonPositiveLimit() {
+		ChangeFeedServiceImpl service = new ChangeFeedServiceImpl();
+		ReflectionTestUtils.setField(service, "changeRecordRepository", mock(ChangeRecordRepository.class));
+
+		StudentException se = assertThrows(StudentException.class, () -> service.getChanges(0, 0));
+
+		assertEquals(ErrorCode.INVALID_REQUEST, se.getCode());
+	}
+}
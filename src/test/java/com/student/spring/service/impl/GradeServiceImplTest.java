@@ -0,0 +1,30 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.repository.GradeRepository;
+
+class GradeServiceImplTest {
+
+	@Test
+	void reportsAnUnknownGradeAsNotFound() {
+		GradeRepository gradeRepository = mock(GradeRepository.class);
+		GradeServiceImpl service = new GradeServiceImpl();
+		ReflectionTestUtils.setField(service, "gradeRepository", gradeRepository);
+		when(gradeRepository.existsById(42)).thenReturn(false);
+
+		StudentException se = assertThrows(StudentException.class, () -> service.deleteGrade(42));
+
+		assertEquals(ErrorCode.GRADE_NOT_FOUND, se.getCode());
+		verify(gradeRepository, never()).deleteById(42);
+	}
+}
@@ -0,0 +1,167 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.student.spring.entity.Activity;
+import com.student.spring.entity.Grade;
+import com.student.spring.entity.ImportJob;
+import com.student.spring.entity.ImportJobStatus;
+import com.student.spring.entity.Membership;
+import com.student.spring.entity.Student;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.index.ActivityEnrollmentIndex;
+import com.student.spring.index.DuplicateStudentIndex;
+import com.student.spring.index.StudentSearchIndex;
+import com.student.spring.repository.ActivityRepository;
+import com.student.spring.repository.GradeRepository;
+import com.student.spring.repository.ImportJobRepository;
+import com.student.spring.repository.ImportRowErrorRepository;
+import com.student.spring.repository.MembershipRepository;
+import com.student.spring.repository.StudentRepository;
+import com.student.spring.service.ChangeFeedService;
+import com.student.spring.stats.GradeDistributionStats;
+
+class ImportServiceImplTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reportsAnUnknownJobAsNotFound() {
+		ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+		ImportServiceImpl service = new ImportServiceImpl();
+		ReflectionTestUtils.setField(service, "importJobRepository", importJobRepository);
+		when(importJobRepository.findById(3L)).thenReturn(Optional.empty());
+
+		StudentException se = assertThrows(StudentException.class, () -> service.getImportJob(3L, 0, 100));
+
+		assertEquals(ErrorCode.RESOURCE_NOT_FOUND, se.getCode());
+	}
+
+	@Test
+	void flagsTheSecondOfTwoRowsWithTheSameContactsInOneChunk() throws Exception {
+		Path file = Files.writeString(directory.resolve("students.csv"),
+				"firstName,lastName,phoneNo,email,address,dob,gradeId,membershipId,activityIds\n"
+				+ "Ann,Lee,5550100100,ann@example.com,1 Main St,2010-01-01,1,1,1\n"
+				+ "Ann,Lee,5550100100,ann@example.com,1 Main St,2010-01-01,1,2,1\n");
+		ImportJob job = new ImportJob();
+		job.setJobId(1L);
+		job.setStoredPath(file.toString());
+		job.setStatus(ImportJobStatus.QUEUED);
+
+		StudentRepository studentRepository = mock(StudentRepository.class);
+		List<Student> saved = new ArrayList<>();
+		when(studentRepository.save(any())).thenAnswer(invocation -> {
+			Student student = invocation.getArgument(0);
+			student.setStudentId(saved.size() + 1);
+			saved.add(student);
+			return student;
+		});
+		when(studentRepository.findIdsByContactKeys(any(), any())).thenAnswer(invocation -> saved.stream()
+				.filter(student -> Objects.equals(student.getEmailKey(), invocation.getArgument(0))
+						|| Objects.equals(student.getPhoneKey(), invocation.getArgument(1)))
+				.map(Student::getStudentId)
+				.collect(Collectors.toList()));
+
+		DuplicateStudentIndex duplicateStudentIndex = new DuplicateStudentIndex();
+		ReflectionTestUtils.setField(duplicateStudentIndex, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(duplicateStudentIndex, "mode", DuplicateStudentIndex.Mode.FLAG);
+		ReflectionTestUtils.setField(duplicateStudentIndex, "expectedStudents", 1000L);
+		ReflectionTestUtils.setField(duplicateStudentIndex, "falsePositiveRate", 0.01);
+		ReflectionTestUtils.setField(duplicateStudentIndex, "buildPageSize", 100);
+		duplicateStudentIndex.rebuild();
+
+		ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+		when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+		GradeRepository gradeRepository = mock(GradeRepository.class);
+		when(gradeRepository.findAllById(anySet())).thenReturn(List.of(grade(1)));
+		MembershipRepository membershipRepository = mock(MembershipRepository.class);
+		when(membershipRepository.findAllById(anySet())).thenReturn(List.of(membership(1), membership(2)));
+		ActivityRepository activityRepository = mock(ActivityRepository.class);
+		when(activityRepository.findAllById(anySet())).thenReturn(List.of(activity(1)));
+
+		ImportServiceImpl service = new ImportServiceImpl();
+		ReflectionTestUtils.setField(service, "importJobRepository", importJobRepository);
+		ReflectionTestUtils.setField(service, "importRowErrorRepository", mock(ImportRowErrorRepository.class));
+		ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(service, "gradeRepository", gradeRepository);
+		ReflectionTestUtils.setField(service, "membershipRepository", membershipRepository);
+		ReflectionTestUtils.setField(service, "activityRepository", activityRepository);
+		ReflectionTestUtils.setField(service, "transactionTemplate",
+				new TransactionTemplate(new SynchronizingTransactionManager()));
+		ReflectionTestUtils.setField(service, "duplicateStudentIndex", duplicateStudentIndex);
+		ReflectionTestUtils.setField(service, "activityEnrollmentIndex", mock(ActivityEnrollmentIndex.class));
+		ReflectionTestUtils.setField(service, "studentSearchIndex", mock(StudentSearchIndex.class));
+		ReflectionTestUtils.setField(service, "gradeDistributionStats", mock(GradeDistributionStats.class));
+		ReflectionTestUtils.setField(service, "changeFeedService", mock(ChangeFeedService.class));
+		ReflectionTestUtils.setField(service, "chunkSize", 500);
+
+		ReflectionTestUtils.invokeMethod(service, "runJob", 1L);
+
+		assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+		assertEquals(2, saved.size());
+		assertFalse(saved.get(0).isPossibleDuplicate());
+		assertTrue(saved.get(1).isPossibleDuplicate());
+	}
+
+	private static Grade grade(int gradeId) {
+		Grade grade = new Grade();
+		grade.setGradeId(gradeId);
+		return grade;
+	}
+
+	private static Membership membership(int membershipId) {
+		Membership membership = new Membership();
+		membership.setMembershipId(membershipId);
+		return membership;
+	}
+
+	private static Activity activity(int activityId) {
+		Activity activity = new Activity();
+		activity.setActivityId(activityId);
+		return activity;
+	}
+
+	// Runs transactions with synchronization but without a resource, so after-commit work is deferred as in production
+	private static class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.student.spring.dto.MembershipDTO;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.repository.MembershipRepository;
+
+class MembershipServiceImplTest {
+
+	@Test
+	void reportsAConstraintViolationAsAConflict() {
+		MembershipRepository membershipRepository = mock(MembershipRepository.class);
+		MembershipServiceImpl service = new MembershipServiceImpl();
+		ReflectionTestUtils.setField(service, "membershipRepository", membershipRepository);
+		when(membershipRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("NULL not allowed"));
+
+		StudentException se = assertThrows(StudentException.class, () -> service.addMembership(new MembershipDTO()));
+
+		assertEquals(ErrorCode.DATA_CONFLICT, se.getCode());
+	}
+}
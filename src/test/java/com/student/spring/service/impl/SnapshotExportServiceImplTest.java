@@ -0,0 +1,29 @@
+package com.student.spring.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+import com.student.spring.repository.ExportJobRepository;
+
+class SnapshotExportServiceImplTest {
+
+	@Test
+	void reportsAnUnknownExportAsNotFound() {
+		ExportJobRepository exportJobRepository = mock(ExportJobRepository.class);
+		SnapshotExportServiceImpl service = new SnapshotExportServiceImpl();
+		ReflectionTestUtils.setField(service, "exportJobRepository", exportJobRepository);
+		when(exportJobRepository.findById(5L)).thenReturn(Optional.empty());
+
+		StudentException se = assertThrows(StudentException.class,
+				() -> service.getSnapshotPart(5L, "students.csv.gz"));
+
+		assertEquals(ErrorCode.RESOURCE_NOT_FOUND, se.getCode());
+	}
+}
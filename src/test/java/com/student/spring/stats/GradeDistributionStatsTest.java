@@ -0,0 +1,130 @@
+package com.student.spring.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import com.student.spring.repository.GradeRepository;
+import com.student.spring.repository.StudentRepository;
+
+class GradeDistributionStatsTest {
+
+	private static final List<Object[]> GRADES = List.<Object[]>of(new Object[] {1, "A", 5});
+
+	private final GradeDistributionStats stats = new GradeDistributionStats();
+
+	private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+	private final GradeRepository gradeRepository = mock(GradeRepository.class);
+
+	@BeforeEach
+	void setUp() {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		ReflectionTestUtils.setField(stats, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(stats, "gradeRepository", gradeRepository);
+		ReflectionTestUtils.setField(stats, "transactionManager", transactionManager);
+		stats.init();
+
+		when(gradeRepository.findGradeDescriptors()).thenReturn(GRADES);
+		when(studentRepository.countStudentsByGradeId()).thenReturn(counts(5));
+		stats.seed();
+	}
+
+	@Test
+	void countsAChangeCommittedAfterTheSeed() {
+		commit(() -> stats.studentAdded(1));
+
+		assertEquals(6L, stats.snapshot().getByGrade().get("A"));
+	}
+
+	@Test
+	void doesNotReplayAChangeTheQueriesAlreadyCounted() {
+		commit(() -> stats.studentAdded(1));
+		when(studentRepository.countStudentsByGradeId()).thenReturn(counts(6));
+
+		stats.reconcile();
+
+		assertEquals(6L, stats.snapshot().getByGrade().get("A"));
+	}
+
+	@Test
+	void holdsBackAChangeCommittingWhileTheQueriesRun() throws Exception {
+		AtomicBoolean committed = new AtomicBoolean();
+		List<Thread> writers = new ArrayList<>();
+		when(gradeRepository.findGradeDescriptors()).thenAnswer(invocation -> {
+			Thread writer = new Thread(() -> {
+				commit(() -> stats.studentAdded(1));
+				committed.set(true);
+			});
+			writers.add(writer);
+			writer.start();
+			awaitBlocked(writer);
+			return GRADES;
+		});
+		when(studentRepository.countStudentsByGradeId()).thenAnswer(invocation -> {
+			assertFalse(committed.get());
+			return counts(5);
+		});
+
+		stats.reconcile();
+		writers.get(0).join(TimeUnit.SECONDS.toMillis(5));
+
+		assertTrue(committed.get());
+		assertEquals(6L, stats.snapshot().getByGrade().get("A"));
+		assertEquals(6L, stats.snapshot().getTotalStudents());
+	}
+
+	@Test
+	void dropsAChangeThatRolledBack() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			stats.studentAdded(1);
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(5L, stats.snapshot().getByGrade().get("A"));
+	}
+
+	// Runs the change in a transaction and goes through the synchronization callbacks of its commit
+	private static void commit(Runnable change) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			change.run();
+			TransactionSynchronizationUtils.triggerBeforeCommit(false);
+			TransactionSynchronizationUtils.triggerAfterCommit();
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static void awaitBlocked(Thread thread) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(Thread.State.WAITING, thread.getState());
+	}
+
+	private static List<Object[]> counts(long studentsInGrade) {
+		return List.<Object[]>of(new Object[] {1, studentsInGrade});
+	}
+}
@@ -0,0 +1,40 @@
+package com.student.spring.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class ContactKeysTest {
+
+	@Test
+	void normalizesEmailCaseAndWhitespace() {
+		assertEquals("alice@example.com", ContactKeys.emailKey("  Alice@Example.COM "));
+	}
+
+	@Test
+	void dropsThePlusTagOfTheLocalPart() {
+		assertEquals("alice@example.com", ContactKeys.emailKey("alice+school@example.com"));
+		assertEquals("+alice@example.com", ContactKeys.emailKey("+alice@example.com"));
+		assertEquals("alice@ex+ample.com", ContactKeys.emailKey("alice@ex+ample.com"));
+	}
+
+	@Test
+	void hasNoEmailKeyForBlankEmails() {
+		assertNull(ContactKeys.emailKey(null));
+		assertNull(ContactKeys.emailKey("   "));
+	}
+
+	@Test
+	void keepsTheLastTenPhoneDigits() {
+		assertEquals("5551234567", ContactKeys.phoneKey("+1 (555) 123-4567"));
+		assertEquals("5551234567", ContactKeys.phoneKey("555.123.4567"));
+		assertEquals("1234567", ContactKeys.phoneKey("123-4567"));
+	}
+
+	@Test
+	void hasNoPhoneKeyWithoutDigits() {
+		assertNull(ContactKeys.phoneKey(null));
+		assertNull(ContactKeys.phoneKey("n/a"));
+	}
+}
@@ -0,0 +1,80 @@
+package com.student.spring.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+	@Test
+	void readsPlainRecords() throws IOException {
+		CsvReader reader = reader("firstName,lastName\nAda,Lovelace\n");
+
+		assertEquals(List.of("firstName", "lastName"), reader.readRecord());
+		assertEquals(List.of("Ada", "Lovelace"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		assertEquals(List.of("", "b", ""), reader(",b,").readRecord());
+	}
+
+	@Test
+	void readsQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+		CsvReader reader = reader("\"Lovelace, Ada\",\"say \"\"hi\"\"\",\"1 Main St\r\nLondon\"\r\nnext\r\n");
+
+		assertEquals(List.of("Lovelace, Ada", "say \"hi\"", "1 Main St\r\nLondon"), reader.readRecord());
+		assertEquals(List.of("next"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void skipsBlankLinesAndALeadingByteOrderMark() throws IOException {
+		CsvReader reader = reader("\uFEFFa,b\r\n\r\n\nc,d");
+
+		assertEquals(List.of("a", "b"), reader.readRecord());
+		assertEquals(List.of("c", "d"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void handlesCarriageReturnLineEndings() throws IOException {
+		CsvReader reader = reader("a\rb\r");
+
+		assertEquals(List.of("a"), reader.readRecord());
+		assertEquals(List.of("b"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void skipsRecords() throws IOException {
+		CsvReader reader = reader("header\n1\n\"2\n2\"\n3\n");
+
+		assertEquals(3, reader.skipRecords(3));
+		assertEquals(List.of("3"), reader.readRecord());
+		assertEquals(0, reader.skipRecords(5));
+	}
+
+	@Test
+	void rejectsAnUnterminatedQuotedField() throws IOException {
+		CsvReader reader = reader("a,\"open\nstill open");
+
+		assertThrows(IOException.class, reader::readRecord);
+	}
+
+	@Test
+	void readsNothingFromAnEmptyStream() throws IOException {
+		assertNull(reader("").readRecord());
+		assertNull(reader("\uFEFF").readRecord());
+	}
+
+	private static CsvReader reader(String csv) {
+		return new CsvReader(new StringReader(csv));
+	}
+}
@@ -0,0 +1,39 @@
+package com.student.spring.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+	@Test
+	void writesPlainFieldsAsTheyAreAndNullsAsEmptyFields() throws IOException {
+		assertEquals("1,premium,,true\r\n", write(Arrays.asList(1, "premium", null, true)));
+	}
+
+	@Test
+	void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+		assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"cr\rhere\",\"lf\nhere\"\r\n",
+				write(List.of("a,b", "say \"hi\"", "cr\rhere", "lf\nhere")));
+	}
+
+	@Test
+	void writesWhatCsvReaderReadsBack() throws IOException {
+		List<String> record = List.of("Lovelace, Ada", "say \"hi\"", "1 Main St\rLondon", "");
+
+		CsvReader reader = new CsvReader(new StringReader(write(record)));
+
+		assertEquals(record, reader.readRecord());
+	}
+
+	private static String write(List<?> record) throws IOException {
+		StringWriter out = new StringWriter();
+		new CsvWriter(out).writeRecord(record);
+		return out.toString();
+	}
+}
@@ -0,0 +1,52 @@
+package com.student.spring.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import com.student.spring.exception.ErrorCode;
+import com.student.spring.exception.StudentException;
+
+class ExpiryCursorTest {
+
+	private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+
+	private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+	@Test
+	void roundTripsThroughItsText() throws StudentException {
+		ExpiryCursor cursor = new ExpiryCursor(LocalDate.of(2025, 2, 14), 4711);
+
+		assertEquals("2025-02-14_4711", cursor.toString());
+		assertEquals(cursor, ExpiryCursor.parse(cursor.toString(), FROM, TO));
+	}
+
+	@Test
+	void acceptsTheBoundsOfTheWindow() throws StudentException {
+		assertEquals(FROM, ExpiryCursor.parse("2025-01-01_1", FROM, TO).expiryDate());
+		assertEquals(TO, ExpiryCursor.parse("2025-03-31_1", FROM, TO).expiryDate());
+	}
+
+	@Test
+	void rejectsCursorsOutsideTheWindow() {
+		assertInvalid("2024-12-31_9");
+		assertInvalid("2025-04-01_9");
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertInvalid("");
+		assertInvalid("_12");
+		assertInvalid("2025-02-14");
+		assertInvalid("2025-02-14_");
+		assertInvalid("2025-02-30_12");
+		assertInvalid("2025-02-14_abc");
+		assertInvalid("2025-02-14_99999999999");
+	}
+
+	private static void assertInvalid(String cursor) {
+		StudentException se = assertThrows(StudentException.class, () -> ExpiryCursor.parse(cursor, FROM, TO));
+		assertEquals(ErrorCode.INVALID_CURSOR, se.getCode());
+	}
+}
@@ -0,0 +1,117 @@
+package com.student.spring.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.student.spring.dto.StudentInputDTO;
+
+class ValidatorTest {
+
+	private static final List<String> INTEGERS = List.of("0", "42", "-42", "+42", "007", "2147483647", "2147483648",
+			"-2147483648", "-2147483649", "99999999999", "", "-", "+", "1.5", " 1", "1 ", "12a", "--1", "0x1F");
+
+	private static final List<String> PHONES = List.of("5551234567", "+5551234567", "555123456", "55512345678",
+			"+555123456", "555-123-4567", "555123456a", "++555123456", "", "+");
+
+	private static final List<String> EMAILS = List.of("user@gmail.com", "first.last@yahoo.co.uk", "a_b-c@x-y.org",
+			"user@mail.info", "user@host", "user@host.c", "user@host.toolong", "@host.com", "user@.com",
+			"user@host..com", "us er@host.com", "user+tag@host.com", "user@@host.com", "user@host.com.",
+			"user@", "", ".user.@host.com");
+
+	@Test
+	void acceptsTheSameIntegersAsParseInt() {
+		for (String input : INTEGERS) {
+			assertEquals(parses(input), Validator.isValidInteger(input), input);
+		}
+		assertFalse(Validator.isValidInteger(null));
+	}
+
+	@Test
+	void acceptsTheSamePhonesAsThePreviousPattern() {
+		for (String phone : PHONES) {
+			String digits = phone.startsWith("+") ? phone.substring(1) : phone;
+			assertEquals(digits.matches("^[0-9]{10}$"), Validator.isValidPhone(phone), phone);
+		}
+		assertFalse(Validator.isValidPhone(null));
+	}
+
+	@Test
+	void acceptsTheSameEmailsAsThePreviousPattern() {
+		for (String email : EMAILS) {
+			assertEquals(email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$"), Validator.isValidEmail(email), email);
+		}
+		assertFalse(Validator.isValidEmail(null));
+	}
+
+	@Test
+	void treatsBlankStringsAsTrimDoes() {
+		for (String input : List.of("", " ", "\t\n", "\u0000", "a", " a ", " ")) {
+			assertEquals(!input.trim().isEmpty(), Validator.isValidString(input), input);
+		}
+		assertFalse(Validator.isValidString(null));
+	}
+
+	@Test
+	void validatesCalendarDates() {
+		assertTrue(Validator.isValidDate("2024-02-29"));
+		assertTrue(Validator.isValidDate("2000-02-29"));
+		assertTrue(Validator.isValidDate("2025-12-31"));
+		assertFalse(Validator.isValidDate("2025-02-29"));
+		assertFalse(Validator.isValidDate("1900-02-29"));
+		assertFalse(Validator.isValidDate("2025-04-31"));
+		assertFalse(Validator.isValidDate("2025-13-01"));
+		assertFalse(Validator.isValidDate("2025-00-10"));
+		assertFalse(Validator.isValidDate("0000-01-01"));
+		assertFalse(Validator.isValidDate("2025-1-01"));
+		assertFalse(Validator.isValidDate("2025/01/01"));
+		assertFalse(Validator.isValidDate("2025-01-0a"));
+		assertFalse(Validator.isValidDate(null));
+	}
+
+	@Test
+	void parsesDates() {
+		assertEquals(LocalDate.of(2024, 2, 29), Validator.parseLocalDate("2024-02-29"));
+		assertEquals(java.sql.Date.valueOf("2025-01-15"), Validator.parseDate("2025-01-15"));
+		assertNull(Validator.parseLocalDate("2025-02-29"));
+		assertNull(Validator.parseDate("15-01-2025"));
+	}
+
+	@Test
+	void reportsEveryFailingStudentField() {
+		List<String> errors = Validator.studentInputErrors(new StudentInputDTO());
+
+		assertEquals(9, errors.size());
+		assertTrue(errors.contains("email: Email should be valid"), errors.toString());
+	}
+
+	@Test
+	void acceptsAValidStudentInput() {
+		StudentInputDTO input = new StudentInputDTO();
+		input.setFirstName("Ada");
+		input.setLastName("Lovelace");
+		input.setPhoneNo("+5551234567");
+		input.setEmail("ada@example.com");
+		input.setAddress("1 Main St");
+		input.setDob(LocalDate.of(2010, 12, 10));
+		input.setGradeId(1);
+		input.setMembershipId(2);
+		input.setActivityIds(Set.of(3));
+
+		assertEquals(List.of(), Validator.studentInputErrors(input));
+	}
+
+	private static boolean parses(String input) {
+		try {
+			Integer.parseInt(input);
+			return true;
+		} catch (NumberFormatException se) {
+			return false;
+		}
+	}
+}